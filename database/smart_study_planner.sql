@@ -32,19 +32,54 @@ CREATE TABLE IF NOT EXISTS goals (
     INDEX idx_deadline (deadline)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- Recurring task series: one row stands for a study task repeated every cadence_days
+-- from start_date to end_date; a day gets its own study_tasks row (series_id) only once
+-- its status or commits change
+CREATE TABLE IF NOT EXISTS study_task_series (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    goal_id INT NULL,
+    repository_name VARCHAR(255),
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    cadence_days INT DEFAULT 1,
+    planned_hours INT DEFAULT 0,
+    planned_commits INT DEFAULT 1,
+    description_template TEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    FOREIGN KEY (goal_id) REFERENCES goals(id) ON DELETE CASCADE,
+    INDEX idx_series_user_end (user_id, end_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 -- Study tasks table
 CREATE TABLE IF NOT EXISTS study_tasks (
     id INT AUTO_INCREMENT PRIMARY KEY,
-    goal_id INT NOT NULL,
+    user_id INT NOT NULL,
+    goal_id INT NULL,
+    repository_name VARCHAR(255),
     task_date DATE NOT NULL,
+    planned_hours INT DEFAULT 0,
+    actual_hours INT DEFAULT 0,
+    planned_commits INT DEFAULT 1,
+    actual_commits INT DEFAULT 0,
     description TEXT NOT NULL,
     required_commit BOOLEAN DEFAULT FALSE,
     status ENUM('PENDING', 'COMPLETED', 'MISSED') DEFAULT 'PENDING',
+    series_id INT NULL,
+    -- MISSED rows whose hours a replan has already moved into later days
+    replanned BOOLEAN DEFAULT FALSE,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (goal_id) REFERENCES goals(id) ON DELETE CASCADE,
-    INDEX idx_goal_id (goal_id),
-    INDEX idx_task_date (task_date),
-    INDEX idx_status (status)
+    FOREIGN KEY (series_id) REFERENCES study_task_series(id) ON DELETE CASCADE,
+    -- Composite indexes for StudyTaskDAO.find: every query filters on user_id and
+    -- orders/pages by (task_date, id)
+    INDEX idx_tasks_user_date (user_id, task_date, id),
+    INDEX idx_tasks_user_status_date (user_id, status, task_date, id),
+    INDEX idx_tasks_user_repo_date (user_id, repository_name, task_date, id),
+    INDEX idx_tasks_goal_date (goal_id, task_date, id),
+    INDEX idx_tasks_series_date (series_id, task_date)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
 -- GitHub activity tracking
@@ -62,6 +97,18 @@ CREATE TABLE IF NOT EXISTS github_activity (
     INDEX idx_last_commit (last_commit_date)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- Incremental commit sync high-water marks (one row per user and repository)
+CREATE TABLE IF NOT EXISTS github_sync_cursor (
+    id INT AUTO_INCREMENT PRIMARY KEY,
+    user_id INT NOT NULL,
+    repo_name VARCHAR(255) NOT NULL,
+    last_commit_at TIMESTAMP NULL,
+    last_commit_sha VARCHAR(40),
+    last_synced_at TIMESTAMP NULL,
+    FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+    UNIQUE KEY unique_user_repo (user_id, repo_name)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
 -- Configuration table
 CREATE TABLE IF NOT EXISTS app_config (
     id INT AUTO_INCREMENT PRIMARY KEY,
@@ -0,0 +1,122 @@
+package dao;
+
+import db.EmbeddedDatabase;
+import model.DailyTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudyTaskDAO throughput against the embedded database: batched vs per-row inserts,
+ * and the query shapes the dashboards use on a history of `history` tasks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {EmbeddedDatabase.URL_ARG, EmbeddedDatabase.USER_ARG, EmbeddedDatabase.PASSWORD_ARG})
+public class TaskDaoBenchmark {
+
+    private static final String[] STATUSES = {"COMPLETED", "COMPLETED", "MISSED", "PENDING"};
+
+    @Param({"365", "5000"})
+    public int history;
+
+    // Rows written per insert benchmark call
+    @Param({"100"})
+    public int batch;
+
+    private StudyTaskDAO taskDAO;
+    private int userId;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        userId = EmbeddedDatabase.setUp();
+        taskDAO = new StudyTaskDAO();
+        today = LocalDate.now();
+        taskDAO.saveAll(tasks(history, 0));
+    }
+
+    // The insert benchmarks write before the seeded history; drop those rows so every
+    // iteration starts from a table of `history` rows
+    @TearDown(Level.Iteration)
+    public void clearInserted() throws SQLException {
+        EmbeddedDatabase.clearTasksUpTo(userId, today.minusDays(history));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        EmbeddedDatabase.clearTasks(userId);
+        EmbeddedDatabase.tearDown();
+    }
+
+    @Benchmark
+    public boolean insertBatched() {
+        return taskDAO.saveAll(tasks(batch, history));
+    }
+
+    @Benchmark
+    public boolean insertIndividually() {
+        return taskDAO.saveAllIndividually(tasks(batch, history));
+    }
+
+    @Benchmark
+    public List<DailyTask> selectAll() {
+        return taskDAO.find(TaskQuery.forUser(userId));
+    }
+
+    @Benchmark
+    public List<DailyTask> selectLast30DaysProjected() {
+        return taskDAO.find(TaskQuery.forUser(userId)
+                .from(today.minusDays(29))
+                .columns("repository_name", "status", "planned_hours", "actual_hours", "planned_commits", "actual_commits")
+                .descending());
+    }
+
+    @Benchmark
+    public List<DailyTask> selectPage() {
+        return taskDAO.find(TaskQuery.forUser(userId).descending().limit(50));
+    }
+
+    @Benchmark
+    public int countCompleted() {
+        return taskDAO.count(TaskQuery.forUser(userId).status("COMPLETED"));
+    }
+
+    // `count` tasks, one per day going back from `offset` days ago
+    private List<DailyTask> tasks(int count, int offset) {
+        List<DailyTask> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DailyTask task = new DailyTask();
+            task.setUserId(userId);
+            task.setRepositoryName("octocat/repo-" + (i % 4));
+            task.setTaskDate(today.minusDays(offset + i));
+            task.setPlannedHours(2);
+            task.setActualHours(i % 3);
+            task.setPlannedCommits(1);
+            task.setActualCommits(i % 2);
+            task.setStatus(STATUSES[i % STATUSES.length]);
+            task.setDescription("Benchmark task " + (offset + i));
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,77 @@
+package db;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+/**
+ * In-memory H2 database (MySQL mode) for the DAO and planner benchmarks.
+ * Benchmarks point AppConfig at it through JVM_ARGS, so DBConnection and the DAOs
+ * run unchanged against it.
+ */
+public final class EmbeddedDatabase {
+
+    public static final String URL = "jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    // For @Fork(jvmArgsAppend = ...)
+    public static final String URL_ARG = "-Ddb.url=" + URL;
+    public static final String USER_ARG = "-Ddb.user=sa";
+    public static final String PASSWORD_ARG = "-Ddb.password=";
+
+    private EmbeddedDatabase() {
+    }
+
+    // Creates the schema and one user to own the benchmark tasks; returns the user id
+    public static int setUp() throws SQLException {
+        quiet();
+        DBConnection.getInstance().initializeDatabase();
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     "INSERT INTO users (name, email, role, oauth_provider) VALUES (?, ?, 'IT', 'GITHUB')",
+                     Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, "Bench User");
+            stmt.setString(2, "bench-" + System.nanoTime() + "@example.com");
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    public static void clearTasks(int userId) throws SQLException {
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            for (String table : new String[]{"study_tasks", "study_task_series"}) {
+                try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM " + table + " WHERE user_id = ?")) {
+                    stmt.setInt(1, userId);
+                    stmt.executeUpdate();
+                }
+            }
+        }
+    }
+
+    // Removes the user's task rows dated on or before `last`
+    public static void clearTasksUpTo(int userId, LocalDate last) throws SQLException {
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement("DELETE FROM study_tasks WHERE user_id = ? AND task_date <= ?")) {
+            stmt.setInt(1, userId);
+            stmt.setDate(2, Date.valueOf(last));
+            stmt.executeUpdate();
+        }
+    }
+
+    public static void tearDown() {
+        DBConnection.getInstance().closeConnection();
+    }
+
+    // The application logs every task it plans or saves; keep that out of the JMH output
+    public static void quiet() {
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+}
@@ -0,0 +1,138 @@
+package service;
+
+import org.json.JSONArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import util.ActivityCalendar;
+import util.GitHubListingParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GitHubService commit handling on a canned /repos/{o}/{r}/commits page
+ * (fixtures/github/commits-page.json, 100 commits over three months).
+ *
+ * tree* is the org.json approach the app used before GitHubListingParser (full
+ * JSONArray, then LocalDate.parse per commit); stream* is the current single pass.
+ * Run with -prof gc to compare allocation per operation:
+ *
+ *   mvn -Pbench package exec:exec -Djmh.args="CommitParsing -prof gc"
+ *
+ * The active-days and commit-gap metrics are read from an ActivityCalendar since the
+ * calendar replaced calculateActiveDays / calculateCommitGaps; activeDaysAndGaps
+ * measures those reads on a prebuilt calendar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommitParsingBenchmark {
+
+    // Number of fixture pages concatenated into one listing
+    @Param({"1", "10"})
+    public int pages;
+
+    // Response body as received; both approaches start from the bytes
+    private byte[] body;
+    private LocalDate today;
+    private ActivityCalendar calendar;
+
+    @Setup
+    public void setUp() throws IOException {
+        String page;
+        try (InputStream in = CommitParsingBenchmark.class.getResourceAsStream("/fixtures/github/commits-page.json")) {
+            if (in == null) {
+                throw new IOException("fixtures/github/commits-page.json is not on the classpath");
+            }
+            page = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+
+        // Page n repeats the fixture; only the day of each commit matters for the metrics
+        StringBuilder listing = new StringBuilder("[");
+        String items = page.substring(1, page.length() - 1);
+        for (int i = 0; i < pages; i++) {
+            if (i > 0) listing.append(',');
+            listing.append(items);
+        }
+        body = listing.append(']').toString().getBytes(StandardCharsets.UTF_8);
+
+        JSONArray commits = new JSONArray(page);
+        today = LocalDate.parse(commits.getJSONObject(0).getJSONObject("commit")
+                .getJSONObject("committer").getString("date").substring(0, 10));
+        calendar = new ActivityCalendar();
+        for (int i = 0; i < commits.length(); i++) {
+            calendar.mark(LocalDate.parse(commits.getJSONObject(i).getJSONObject("commit")
+                    .getJSONObject("committer").getString("date").substring(0, 10)), ActivityCalendar.Flag.COMMIT);
+        }
+    }
+
+    @Benchmark
+    public JSONArray treeListing() {
+        return new JSONArray(new String(body, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public Map<String, Object> treeActivity() {
+        return treeSummary(new JSONArray(new String(body, StandardCharsets.UTF_8)), today);
+    }
+
+    @Benchmark
+    public GitHubListingParser.Commits streamListing() throws IOException {
+        return GitHubListingParser.parseCommits(body, true);
+    }
+
+    @Benchmark
+    public Map<String, Object> streamActivity() throws IOException {
+        return GitHubService.summarizeCommits(GitHubListingParser.parseCommits(body, false), today);
+    }
+
+    @Benchmark
+    public void activeDaysAndGaps(Blackhole blackhole) {
+        blackhole.consume(calendar.activeDays(ActivityCalendar.Flag.COMMIT));
+        blackhole.consume(calendar.countGaps(ActivityCalendar.Flag.COMMIT, 2));
+        blackhole.consume(calendar.currentStreak(ActivityCalendar.Flag.COMMIT, today));
+    }
+
+    // GitHubService.summarizeCommits as it was on org.json, kept as the baseline
+    private static Map<String, Object> treeSummary(JSONArray commits, LocalDate today) {
+        int commitsLastWeek = 0;
+        LocalDate weekAgo = today.minusDays(7);
+        ActivityCalendar calendar = new ActivityCalendar();
+        for (int i = 0; i < commits.length(); i++) {
+            LocalDate commitDate = LocalDate.parse(commits.getJSONObject(i).getJSONObject("commit")
+                    .getJSONObject("committer").getString("date").substring(0, 10));
+            calendar.mark(commitDate, ActivityCalendar.Flag.COMMIT);
+            if (!commitDate.isBefore(weekAgo)) {
+                commitsLastWeek++;
+            }
+        }
+
+        Map<String, Object> activity = new HashMap<>();
+        activity.put("total_commits", commits.length());
+        activity.put("last_commit_date", commits.length() > 0 ? calendar.lastDay(ActivityCalendar.Flag.COMMIT) : null);
+        activity.put("commits_last_week", commitsLastWeek);
+        activity.put("active_days", calendar.activeDays(ActivityCalendar.Flag.COMMIT));
+        activity.put("commit_gaps", calendar.countGaps(ActivityCalendar.Flag.COMMIT, 2));
+        activity.put("current_streak", Math.max(calendar.currentStreak(ActivityCalendar.Flag.COMMIT, today),
+                calendar.currentStreak(ActivityCalendar.Flag.COMMIT, today.minusDays(1))));
+        return activity;
+    }
+}
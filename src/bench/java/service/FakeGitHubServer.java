@@ -0,0 +1,619 @@
+package service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stand-in for api.github.com on the JDK HTTP server, for offline load and regression runs.
+ *
+ * Serves /user, /user/emails, /user/repos, /rate_limit and, per repository, /commits
+ * (since, until, per_page, page and Link headers), /contents, /git/trees and /git/blobs.
+ * All data is generated from a seed: repository i gets a project kind (Spring, React,
+ * Django, empty, ...) and a commit history of historyDays days, so two runs with the
+ * same options see the same responses. Responses carry ETags and X-RateLimit headers;
+ * latency, rate limits and injected errors are configurable.
+ *
+ *   FakeGitHubServer server = new FakeGitHubServer(new FakeGitHubServer.Options().repoCount(50).latencyMs(40));
+ *   server.start();   // then run with -Dgithub.api.baseUrl=server.getBaseUrl()
+ *
+ * Standalone: java -cp SmartStudyPlanner.jar service.FakeGitHubServer --port=8089 --latencyMs=50
+ */
+public class FakeGitHubServer {
+
+    private static final Pattern REPO_PATH = Pattern.compile("^/repos/([^/]+)/([^/]+)(/.*)?$");
+    private static final String[] KINDS = {"spring", "react", "node", "django", "flask", "static", "java", "empty", "other"};
+
+    private final Options options;
+    private final Random random;
+    private final LocalDate today;
+    private final Map<String, List<Commit>> commitsByRepo = new ConcurrentHashMap<>();
+    private final Map<String, RateWindow> rateWindows = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> requestsByRoute = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public FakeGitHubServer() {
+        this(new Options());
+    }
+
+    public FakeGitHubServer(Options options) {
+        this.options = options;
+        this.random = new Random(options.seed);
+        this.today = options.today != null ? options.today : LocalDate.now(ZoneOffset.UTC);
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options = new Options();
+        for (String arg : args) {
+            String[] kv = arg.replaceFirst("^--", "").split("=", 2);
+            if (kv.length == 2) {
+                options.set(kv[0], kv[1]);
+            }
+        }
+        FakeGitHubServer server = new FakeGitHubServer(options);
+        server.start();
+        System.out.println("Run the app with -Dgithub.api.baseUrl=" + server.getBaseUrl());
+    }
+
+    public synchronized void start() throws IOException {
+        if (server != null) return;
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), options.port), 0);
+        executor = Executors.newFixedThreadPool(options.threads, runnable -> {
+            Thread thread = new Thread(runnable, "fake-github");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        System.out.println("?? Fake GitHub API listening on " + getBaseUrl() + " (" + options.repoCount +
+                " repos, " + options.historyDays + " days of history, " + options.latencyMs + " ms latency)");
+    }
+
+    public synchronized void stop() {
+        if (server == null) return;
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        System.out.println("?? " + this);
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    // Request counts per route ("commits", "trees", ...)
+    public Map<String, Long> getRequestsByRoute() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        requestsByRoute.forEach((route, count) -> counts.put(route, count.get()));
+        return counts;
+    }
+
+    public String getLogin() {
+        return options.login;
+    }
+
+    // Full names of the generated repositories, in /user/repos order
+    public List<String> getRepositoryNames() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < options.repoCount; i++) {
+            names.add(repoName(i));
+        }
+        return names;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Fake GitHub: %d requests (%d not modified, %d rate limited, %d injected errors) %s",
+                requests.get(), notModified.get(), rateLimited.get(), injectedErrors.get(), getRequestsByRoute());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            if (options.latencyMs > 0 || options.jitterMs > 0) {
+                Thread.sleep(options.latencyMs + (options.jitterMs > 0 ? nextInt(options.jitterMs) : 0));
+            }
+
+            URI uri = exchange.getRequestURI();
+            String path = uri.getPath();
+            Map<String, String> query = parseQuery(uri.getRawQuery());
+            String token = exchange.getRequestHeaders().getFirst("Authorization");
+            RateWindow window = rateWindows.computeIfAbsent(token != null ? token : "anonymous", k -> new RateWindow());
+
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                send(exchange, 405, message("Method not allowed"), null, window);
+                return;
+            }
+            if (options.errorRate > 0 && nextDouble() < options.errorRate) {
+                injectedErrors.incrementAndGet();
+                send(exchange, 502, message("Server Error"), null, window);
+                return;
+            }
+            if (options.secondaryLimitRate > 0 && nextDouble() < options.secondaryLimitRate) {
+                rateLimited.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(options.retryAfterSeconds));
+                send(exchange, 403, message("You have exceeded a secondary rate limit. Please wait a few minutes before you try again."), null, window);
+                return;
+            }
+            if (!window.tryAcquire()) {
+                rateLimited.incrementAndGet();
+                send(exchange, 403, message("API rate limit exceeded for user " + options.login + "."), null, window);
+                return;
+            }
+
+            route(exchange, path, query, window);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("? Fake GitHub handler failed for " + exchange.getRequestURI() + ": " + e);
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, String path, Map<String, String> query, RateWindow window) throws IOException {
+        if (path.equals("/user")) {
+            count("user");
+            send(exchange, 200, userJson().toString(), null, window);
+            return;
+        }
+        if (path.equals("/user/emails")) {
+            count("emails");
+            JSONObject email = new JSONObject().put("email", options.login + "@example.com")
+                    .put("primary", true).put("verified", true).put("visibility", "private");
+            send(exchange, 200, new JSONArray().put(email).toString(), null, window);
+            return;
+        }
+        if (path.equals("/user/repos")) {
+            count("repos");
+            List<Object> repos = new ArrayList<>();
+            for (int i = 0; i < options.repoCount; i++) {
+                repos.add(repoJson(i));
+            }
+            sendPage(exchange, path, query, repos, window);
+            return;
+        }
+        if (path.equals("/rate_limit")) {
+            count("rate_limit");
+            JSONObject core = new JSONObject().put("limit", options.rateLimit).put("remaining", window.remaining())
+                    .put("reset", window.resetEpochSeconds()).put("used", options.rateLimit - window.remaining());
+            send(exchange, 200, new JSONObject().put("resources", new JSONObject().put("core", core)).put("rate", core).toString(), null, window);
+            return;
+        }
+
+        Matcher matcher = REPO_PATH.matcher(path);
+        int index = matcher.matches() ? repoIndex(matcher.group(1), matcher.group(2)) : -1;
+        if (index < 0) {
+            count("not_found");
+            send(exchange, 404, message("Not Found"), null, window);
+            return;
+        }
+        String rest = matcher.group(3) == null ? "" : matcher.group(3);
+        String kind = kind(index);
+
+        if (rest.isEmpty()) {
+            count("repo");
+            send(exchange, 200, repoJson(index).toString(), null, window);
+        } else if (rest.equals("/commits")) {
+            count("commits");
+            if (kind.equals("empty")) {
+                send(exchange, 409, message("Git Repository is empty."), null, window);
+                return;
+            }
+            Instant since = query.containsKey("since") ? Instant.parse(query.get("since")) : null;
+            Instant until = query.containsKey("until") ? Instant.parse(query.get("until")) : null;
+            List<Object> commits = new ArrayList<>();
+            for (Commit commit : commits(index)) {
+                if (since != null && commit.date.isBefore(since)) continue;
+                if (until != null && commit.date.isAfter(until)) continue;
+                commits.add(commit.toJson(getBaseUrl(), repoName(index)));
+            }
+            sendPage(exchange, path, query, commits, window);
+        } else if (rest.startsWith("/git/trees/")) {
+            count("trees");
+            if (kind.equals("empty")) {
+                send(exchange, 409, message("Git Repository is empty."), null, window);
+                return;
+            }
+            JSONArray entries = new JSONArray();
+            for (Map.Entry<String, String> file : files(kind).entrySet()) {
+                entries.put(new JSONObject().put("path", file.getKey()).put("mode", "100644").put("type", "blob")
+                        .put("sha", sha1(file.getValue())).put("size", file.getValue().length()));
+            }
+            entries.put(new JSONObject().put("path", "src").put("mode", "040000").put("type", "tree").put("sha", sha1(repoName(index) + "/src")));
+            send(exchange, 200, new JSONObject().put("sha", sha1(repoName(index) + entries)).put("tree", entries)
+                    .put("truncated", false).toString(), null, window);
+        } else if (rest.startsWith("/git/blobs/")) {
+            count("blobs");
+            String sha = rest.substring("/git/blobs/".length());
+            for (String content : files(kind).values()) {
+                if (sha1(content).equals(sha)) {
+                    send(exchange, 200, new JSONObject().put("sha", sha).put("size", content.length())
+                            .put("encoding", "base64").put("content", base64(content)).toString(), null, window);
+                    return;
+                }
+            }
+            send(exchange, 404, message("Not Found"), null, window);
+        } else if (rest.equals("/contents") || rest.equals("/contents/")) {
+            count("contents");
+            JSONArray listing = new JSONArray();
+            for (Map.Entry<String, String> file : files(kind).entrySet()) {
+                listing.put(new JSONObject().put("name", file.getKey()).put("path", file.getKey()).put("type", "file")
+                        .put("sha", sha1(file.getValue())).put("size", file.getValue().length()));
+            }
+            send(exchange, kind.equals("empty") ? 404 : 200, kind.equals("empty") ? message("This repository is empty.") : listing.toString(), null, window);
+        } else if (rest.startsWith("/contents/")) {
+            count("contents");
+            String file = rest.substring("/contents/".length());
+            String content = files(kind).get(file);
+            if (content == null) {
+                send(exchange, 404, message("Not Found"), null, window);
+                return;
+            }
+            send(exchange, 200, new JSONObject().put("type", "file").put("name", file).put("path", file)
+                    .put("sha", sha1(content)).put("size", content.length())
+                    .put("encoding", "base64").put("content", base64(content)).toString(), null, window);
+        } else {
+            count("not_found");
+            send(exchange, 404, message("Not Found"), null, window);
+        }
+    }
+
+    // per_page / page with GitHub-style Link headers (absolute URLs)
+    private void sendPage(HttpExchange exchange, String path, Map<String, String> query, List<Object> items,
+                          RateWindow window) throws IOException {
+        int perPage = Math.max(1, Math.min(100, parseInt(query.get("per_page"), 30)));
+        int page = Math.max(1, parseInt(query.get("page"), 1));
+        int lastPage = Math.max(1, (items.size() + perPage - 1) / perPage);
+
+        JSONArray body = new JSONArray();
+        for (int i = (page - 1) * perPage; i < Math.min(items.size(), page * perPage); i++) {
+            body.put(items.get(i));
+        }
+
+        String link = null;
+        if (page < lastPage) {
+            link = "<" + pageUrl(path, query, page + 1) + ">; rel=\"next\", <" + pageUrl(path, query, lastPage) + ">; rel=\"last\"";
+        }
+        if (page > 1) {
+            String prev = "<" + pageUrl(path, query, page - 1) + ">; rel=\"prev\", <" + pageUrl(path, query, 1) + ">; rel=\"first\"";
+            link = link == null ? prev : link + ", " + prev;
+        }
+        send(exchange, 200, body.toString(), link, window);
+    }
+
+    private String pageUrl(String path, Map<String, String> query, int page) {
+        StringBuilder url = new StringBuilder(getBaseUrl()).append(path).append('?');
+        for (Map.Entry<String, String> param : query.entrySet()) {
+            if (param.getKey().equals("page")) continue;
+            url.append(param.getKey()).append('=').append(param.getValue()).append('&');
+        }
+        return url.append("page=").append(page).toString();
+    }
+
+    private void send(HttpExchange exchange, int status, String body, String link, RateWindow window) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        String etag = "\"" + sha1(body) + "\"";
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.getResponseHeaders().set("X-RateLimit-Limit", String.valueOf(options.rateLimit));
+        exchange.getResponseHeaders().set("X-RateLimit-Remaining", String.valueOf(window.remaining()));
+        exchange.getResponseHeaders().set("X-RateLimit-Reset", String.valueOf(window.resetEpochSeconds()));
+        exchange.getResponseHeaders().set("X-RateLimit-Used", String.valueOf(options.rateLimit - window.remaining()));
+        exchange.getResponseHeaders().set("X-RateLimit-Resource", "core");
+        if (link != null) {
+            exchange.getResponseHeaders().set("Link", link);
+        }
+
+        if (status == 200) {
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                // Like GitHub, a 304 does not count against the rate limit
+                window.refund();
+                exchange.getResponseHeaders().set("X-RateLimit-Remaining", String.valueOf(window.remaining()));
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // Newest first, like the GitHub commits endpoint
+    private List<Commit> commits(int index) {
+        return commitsByRepo.computeIfAbsent(repoName(index), name -> {
+            List<Commit> commits = new ArrayList<>();
+            Random days = new Random(options.seed * 31 + name.hashCode());
+            for (int d = 0; d < options.historyDays; d++) {
+                LocalDate day = today.minusDays(d);
+                int count = days.nextInt(4); // 0-3 commits a day
+                for (int c = count - 1; c >= 0; c--) {
+                    Instant at = day.atTime(9 + c * 3, days.nextInt(60)).toInstant(ZoneOffset.UTC);
+                    commits.add(new Commit(sha1(name + "@" + day + "#" + c), at, "Work on " + name + " (" + day + ")"));
+                }
+            }
+            return commits;
+        });
+    }
+
+    private int repoIndex(String owner, String repo) {
+        if (!owner.equals(options.login) || !repo.startsWith("repo-")) return -1;
+        try {
+            int index = Integer.parseInt(repo.substring("repo-".length()));
+            return index >= 0 && index < options.repoCount ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String repoName(int index) {
+        return String.format("%s/repo-%03d", options.login, index);
+    }
+
+    private String kind(int index) {
+        return KINDS[index % KINDS.length];
+    }
+
+    private Map<String, String> files(String kind) {
+        Map<String, String> files = new LinkedHashMap<>();
+        switch (kind) {
+            case "spring":
+                files.put("pom.xml", "<project><dependencies><dependency><artifactId>spring-boot-starter-web</artifactId></dependency></dependencies></project>");
+                break;
+            case "java":
+                files.put("pom.xml", "<project><artifactId>plain-java</artifactId></project>");
+                break;
+            case "react":
+                files.put("package.json", "{\"dependencies\":{\"react\":\"^18.2.0\",\"react-dom\":\"^18.2.0\"}}");
+                break;
+            case "node":
+                files.put("package.json", "{\"dependencies\":{\"express\":\"^4.18.2\"}}");
+                break;
+            case "django":
+                files.put("requirements.txt", "django==4.2\npsycopg2==2.9\n");
+                break;
+            case "flask":
+                files.put("requirements.txt", "flask==3.0\n");
+                break;
+            case "static":
+                files.put("index.html", "<!doctype html><title>Study</title>");
+                files.put("style.css", "body { margin: 0; }");
+                break;
+            case "empty":
+                return files;
+            default:
+                break;
+        }
+        files.put("README.md", "# " + kind + " project\n");
+        return files;
+    }
+
+    private JSONObject userJson() {
+        return new JSONObject().put("login", options.login).put("id", 1).put("name", "Fake " + options.login)
+                .put("email", JSONObject.NULL).put("avatar_url", getBaseUrl() + "/avatars/" + options.login)
+                .put("type", "User");
+    }
+
+    private JSONObject repoJson(int index) {
+        String name = repoName(index);
+        List<Commit> commits = kind(index).equals("empty") ? List.of() : commits(index);
+        Instant updated = commits.isEmpty() ? today.minusDays(options.historyDays).atStartOfDay(ZoneOffset.UTC).toInstant() : commits.get(0).date;
+        return new JSONObject().put("id", 1000 + index).put("name", name.substring(name.indexOf('/') + 1))
+                .put("full_name", name).put("private", index % 3 == 0)
+                .put("owner", new JSONObject().put("login", options.login))
+                .put("html_url", "https://github.com/" + name)
+                .put("description", kind(index) + " project #" + index)
+                .put("default_branch", "main")
+                .put("updated_at", updated.toString())
+                .put("pushed_at", updated.toString());
+    }
+
+    private void count(String route) {
+        requestsByRoute.computeIfAbsent(route, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    private synchronized int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    private synchronized double nextDouble() {
+        return random.nextDouble();
+    }
+
+    private static String message(String message) {
+        return new JSONObject().put("message", message)
+                .put("documentation_url", "https://docs.github.com/rest").toString();
+    }
+
+    // GitHub wraps base64 content at 60 columns
+    private static String base64(String content) {
+        String encoded = Base64.getEncoder().encodeToString(content.getBytes(StandardCharsets.UTF_8));
+        return encoded.replaceAll("(.{60})", "$1\n");
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return query;
+        for (String pair : rawQuery.split("&")) {
+            String[] kv = pair.split("=", 2);
+            query.put(URLDecoder.decode(kv[0], StandardCharsets.UTF_8),
+                    kv.length > 1 ? URLDecoder.decode(kv[1], StandardCharsets.UTF_8) : "");
+        }
+        return query;
+    }
+
+    private static int parseInt(String value, int fallback) {
+        try {
+            return value != null ? Integer.parseInt(value) : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static String sha1(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class Commit {
+        final String sha;
+        final Instant date;
+        final String message;
+
+        Commit(String sha, Instant date, String message) {
+            this.sha = sha;
+            this.date = date;
+            this.message = message;
+        }
+
+        JSONObject toJson(String baseUrl, String repoName) {
+            JSONObject person = new JSONObject().put("name", "Fake Committer")
+                    .put("email", "committer@example.com").put("date", date.toString());
+            return new JSONObject().put("sha", sha)
+                    .put("commit", new JSONObject().put("author", person).put("committer", person).put("message", message))
+                    .put("url", baseUrl + "/repos/" + repoName + "/commits/" + sha)
+                    .put("html_url", "https://github.com/" + repoName + "/commit/" + sha);
+        }
+    }
+
+    // Per-token primary rate limit window
+    private class RateWindow {
+        private long resetAt = System.currentTimeMillis() + options.rateLimitWindowSeconds * 1000L;
+        private int used;
+
+        synchronized boolean tryAcquire() {
+            roll();
+            if (used >= options.rateLimit) return false;
+            used++;
+            return true;
+        }
+
+        synchronized void refund() {
+            if (used > 0) used--;
+        }
+
+        synchronized int remaining() {
+            roll();
+            return options.rateLimit - used;
+        }
+
+        synchronized long resetEpochSeconds() {
+            return resetAt / 1000;
+        }
+
+        private void roll() {
+            long now = System.currentTimeMillis();
+            if (now >= resetAt) {
+                resetAt = now + options.rateLimitWindowSeconds * 1000L;
+                used = 0;
+            }
+        }
+    }
+
+    public static class Options {
+        private int port;
+        private int threads = 8;
+        private String login = "octocat";
+        private int repoCount = 20;
+        private int historyDays = 120;
+        private long seed = 42;
+        private LocalDate today;
+        private int latencyMs;
+        private int jitterMs;
+        private int rateLimit = 5000;
+        private int rateLimitWindowSeconds = 3600;
+        private double errorRate;
+        private double secondaryLimitRate;
+        private int retryAfterSeconds = 60;
+
+        // 0 picks a free port
+        public Options port(int port) { this.port = port; return this; }
+        public Options threads(int threads) { this.threads = threads; return this; }
+        public Options login(String login) { this.login = login; return this; }
+        public Options repoCount(int repoCount) { this.repoCount = repoCount; return this; }
+        public Options historyDays(int historyDays) { this.historyDays = historyDays; return this; }
+        public Options seed(long seed) { this.seed = seed; return this; }
+        // Day the generated histories end on (default: today, UTC)
+        public Options today(LocalDate today) { this.today = today; return this; }
+        public Options latencyMs(int latencyMs) { this.latencyMs = latencyMs; return this; }
+        public Options jitterMs(int jitterMs) { this.jitterMs = jitterMs; return this; }
+        public Options rateLimit(int rateLimit) { this.rateLimit = rateLimit; return this; }
+        public Options rateLimitWindowSeconds(int seconds) { this.rateLimitWindowSeconds = seconds; return this; }
+        // Fraction of requests answered with 502
+        public Options errorRate(double errorRate) { this.errorRate = errorRate; return this; }
+        // Fraction of requests answered with a secondary-limit 403 and Retry-After
+        public Options secondaryLimitRate(double rate) { this.secondaryLimitRate = rate; return this; }
+        public Options retryAfterSeconds(int seconds) { this.retryAfterSeconds = seconds; return this; }
+
+        // --name=value from the command line
+        void set(String name, String value) {
+            switch (name) {
+                case "port": port(Integer.parseInt(value)); break;
+                case "threads": threads(Integer.parseInt(value)); break;
+                case "login": login(value); break;
+                case "repoCount": repoCount(Integer.parseInt(value)); break;
+                case "historyDays": historyDays(Integer.parseInt(value)); break;
+                case "seed": seed(Long.parseLong(value)); break;
+                case "today": today(LocalDate.parse(value)); break;
+                case "latencyMs": latencyMs(Integer.parseInt(value)); break;
+                case "jitterMs": jitterMs(Integer.parseInt(value)); break;
+                case "rateLimit": rateLimit(Integer.parseInt(value)); break;
+                case "rateLimitWindowSeconds": rateLimitWindowSeconds(Integer.parseInt(value)); break;
+                case "errorRate": errorRate(Double.parseDouble(value)); break;
+                case "secondaryLimitRate": secondaryLimitRate(Double.parseDouble(value)); break;
+                case "retryAfterSeconds": retryAfterSeconds(Integer.parseInt(value)); break;
+                default: System.err.println("? Unknown option --" + name);
+            }
+        }
+    }
+}
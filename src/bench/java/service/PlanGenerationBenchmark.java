@@ -0,0 +1,130 @@
+package service;
+
+import dao.StudyTaskDAO;
+import dao.TaskQuery;
+import config.AppConfig;
+import db.EmbeddedDatabase;
+import model.DailyTask;
+import model.Goal;
+import model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plan generation over 1-24 month horizons.
+ *
+ * studyPlanTasks builds StudyPlanGenerator's subtasks (templates and generic tasks, no
+ * detection, no database) and places them with the configured PlanScheduler. itPlan runs ITPlanGenerator.generatePlan end to end as a
+ * recurring task series (one row); itPlanDailyRows stores the same plan one row per
+ * day with the batched insert, as before task series.
+ *
+ * dashboardWindow reads the next 30 days of the series plan back through StudyTaskDAO,
+ * which builds those days on the fly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {EmbeddedDatabase.URL_ARG, EmbeddedDatabase.USER_ARG, EmbeddedDatabase.PASSWORD_ARG})
+public class PlanGenerationBenchmark {
+
+    private static final String[] FEATURES = {"Login System", "CRUD Operations", "Payment gateway", "REST API"};
+
+    @Param({"1", "3", "6", "12", "24"})
+    public int months;
+
+    private StudyPlanGenerator studyPlanGenerator;
+    private TemplateLibrary templateLibrary;
+    private PlanScheduler scheduler;
+    private ITPlanGenerator itPlanGenerator;
+    private StudyTaskDAO taskDAO;
+    private User user;
+    private Goal goal;
+    private String[] features;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int totalDays;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        int userId = EmbeddedDatabase.setUp();
+        user = new User();
+        user.setId(userId);
+
+        studyPlanGenerator = new StudyPlanGenerator();
+        templateLibrary = new TemplateLibrary();
+        scheduler = new PlanScheduler(AppConfig.PLAN_SCHEDULER);
+        itPlanGenerator = new ITPlanGenerator();
+        taskDAO = new StudyTaskDAO();
+
+        startDate = LocalDate.now();
+        endDate = startDate.plusMonths(months);
+        totalDays = (int) java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate);
+
+        // Enough features (about six tasks each) to fill the whole horizon
+        List<String> names = new ArrayList<>();
+        for (int i = 0; names.size() * 5 < totalDays; i++) {
+            names.add(FEATURES[i % FEATURES.length] + " " + (i + 1));
+        }
+        features = names.toArray(new String[0]);
+        goal = new Goal(userId, "octocat/study-planner", "HIGH", String.join(",", features), months, 2, "INTERMEDIATE");
+    }
+
+    // The plan dashboardWindow reads; clearTasks removes it after every iteration
+    @Setup(Level.Iteration)
+    public void seedDashboardPlan() {
+        itPlanGenerator.generatePlan(user, "octocat/dashboard", endDate, 2, "MODERATE", true);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearTasks() throws SQLException {
+        EmbeddedDatabase.clearTasks(user.getId());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        EmbeddedDatabase.tearDown();
+    }
+
+    @Benchmark
+    public List<DailyTask> studyPlanTasks() {
+        List<DailyTask> work = studyPlanGenerator.buildWork(templateLibrary, user, goal, features,
+                ProjectTypeDetector.ProjectType.REACT_FRONTEND, 2);
+        PlanScheduler.Schedule schedule = scheduler.schedule(
+                List.of(new PlanScheduler.Lane(goal.getRepositoryName(), 1.0, work)), startDate, totalDays, 2);
+        return schedule.getTasks(0);
+    }
+
+    @Benchmark
+    public Object itPlan() {
+        return itPlanGenerator.generatePlan(user, "octocat/study-planner", endDate, 2, "MODERATE", true);
+    }
+
+    @Benchmark
+    public Object itPlanDailyRows() {
+        return itPlanGenerator.generatePlan(user, "octocat/study-planner", endDate, 2, "MODERATE", false);
+    }
+
+    @Benchmark
+    public List<DailyTask> dashboardWindow() {
+        return taskDAO.find(TaskQuery.forUser(user.getId()).from(startDate).to(startDate.plusDays(29)));
+    }
+}
@@ -0,0 +1,101 @@
+package service;
+
+import model.DailyTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PlanScheduler over synthetic multi-repository plans: 1-9 hour subtasks, priority
+ * weights 1.0 / 0.7 / 0.4 as in StudyPlanGenerator, and a window sized so the work
+ * fills 90% of the daily hours (fill=0.9) or only 10% of them (fill=0.1, a light plan
+ * that should be spread out and not leave the end of the window idle).
+ *
+ * JMH reports the scheduling time. The plan quality (peak day, overbooked and idle
+ * days, idle days at the end, load standard deviation, work left out) is printed once per trial, so both
+ * strategies can be compared on speed and on the plans they produce.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlanSchedulerBenchmark {
+
+    private static final int DAILY_HOURS = 4;
+    private static final double[] WEIGHTS = {1.0, 0.7, 0.4};
+
+    @Param({"1000", "5000"})
+    public int subtasks;
+
+    @Param({"3", "8"})
+    public int repos;
+
+    @Param({"0.9", "0.1"})
+    public double fill;
+
+    @Param({"SEQUENTIAL", "BALANCED"})
+    public PlanScheduler.Strategy strategy;
+
+    private PlanScheduler scheduler;
+    private List<PlanScheduler.Lane> lanes;
+    private LocalDate startDate;
+    private int days;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scheduler = new PlanScheduler(strategy);
+        startDate = LocalDate.now();
+        Random random = new Random(42);
+
+        List<List<DailyTask>> work = new ArrayList<>();
+        for (int i = 0; i < repos; i++) {
+            work.add(new ArrayList<>());
+        }
+        long hours = 0;
+        for (int i = 0; i < subtasks; i++) {
+            DailyTask task = new DailyTask();
+            task.setRepositoryName("octocat/repo-" + (i % repos));
+            task.setPlannedHours(1 + random.nextInt(9));
+            task.setPlannedCommits(1);
+            task.setStatus("PENDING");
+            task.setDescription("Subtask " + i);
+            work.get(i % repos).add(task);
+            hours += task.getPlannedHours();
+        }
+        lanes = new ArrayList<>();
+        for (int i = 0; i < repos; i++) {
+            lanes.add(new PlanScheduler.Lane("octocat/repo-" + i, WEIGHTS[i % WEIGHTS.length], work.get(i)));
+        }
+        days = (int) Math.ceil(hours / (DAILY_HOURS * fill));
+    }
+
+    @TearDown(Level.Trial)
+    public void printQuality() {
+        PlanScheduler.Schedule schedule = schedule();
+        System.out.println();
+        System.out.println("?? " + strategy + ", " + subtasks + " subtasks, " + repos + " repos, fill " + fill + ", " + days + " days: " + schedule);
+    }
+
+    @Benchmark
+    public PlanScheduler.Schedule schedule() {
+        return scheduler.schedule(lanes, startDate, days, DAILY_HOURS);
+    }
+}
@@ -0,0 +1,47 @@
+package service;
+
+import model.FeatureTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TemplateLibrary.findTemplate for a feature that matches the first template, one that
+ * matches a later template, and one that matches nothing (generic tasks).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateLookupBenchmark {
+
+    @Param({"Login System for students", "Admin CRUD Operations", "Realtime chat"})
+    public String feature;
+
+    @Param({"REACT_FRONTEND", "SPRING_BOOT", "OTHER"})
+    public String projectType;
+
+    private TemplateLibrary library;
+
+    @Setup
+    public void setUp() {
+        library = new TemplateLibrary();
+    }
+
+    @Benchmark
+    public FeatureTemplate findTemplate() {
+        return library.findTemplate(feature, projectType);
+    }
+}
@@ -0,0 +1,106 @@
+package service;
+
+import model.FeatureTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Template lookup as the catalogue grows: the linear lowercase-contains scan that
+ * findTemplate used to do against the compiled TemplateMatcher, on synthetic
+ * catalogues of 10, 100 and 1000 two-word templates (each with one alias).
+ *
+ * "hit" names the last template (worst case for the scan), "miss" names none,
+ * "multi" names three templates in one sentence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateMatcherBenchmark {
+
+    private static final String[] ADJECTIVES = {"user", "admin", "order", "payment", "report", "search", "message",
+            "profile", "invoice", "product", "cart", "review", "booking", "course", "ticket", "file", "audit",
+            "team", "project", "billing", "inventory", "shipping", "catalog", "calendar", "survey", "media",
+            "event", "lesson", "quiz", "forum", "badge", "wallet"};
+    private static final String[] NOUNS = {"management", "dashboard", "export", "import", "workflow", "history",
+            "settings", "notifications", "analytics", "editor", "viewer", "sync", "archive", "approval",
+            "scheduler", "tracker", "gateway", "uploader", "summary", "wizard", "moderation", "feed",
+            "permissions", "pipeline", "widgets", "templates", "reminders", "comments", "timeline", "portal",
+            "queue", "integration"};
+
+    @Param({"10", "100", "1000"})
+    public int templates;
+
+    @Param({"hit", "miss", "multi"})
+    public String query;
+
+    private List<FeatureTemplate> catalogue;
+    private TemplateMatcher matcher;
+    private String feature;
+
+    @Setup
+    public void setUp() {
+        catalogue = new ArrayList<>();
+        for (int i = 0; i < templates; i++) {
+            String adjective = ADJECTIVES[i % ADJECTIVES.length];
+            String noun = NOUNS[(i / ADJECTIVES.length) % NOUNS.length];
+            FeatureTemplate template = new FeatureTemplate(capitalize(adjective) + " " + capitalize(noun), 8);
+            template.addAliases(adjective + " " + noun + " module");
+            catalogue.add(template);
+        }
+        matcher = new TemplateMatcher(catalogue);
+
+        String last = catalogue.get(catalogue.size() - 1).getFeatureName();
+        switch (query) {
+            case "hit":
+                feature = "Build the " + last + " for students";
+                break;
+            case "miss":
+                feature = "Realtime chat with presence indicators";
+                break;
+            default:
+                feature = "Add " + catalogue.get(0).getFeatureName() + ", " + catalogue.get(catalogue.size() / 2).getFeatureName()
+                        + " and " + last + " to the app";
+        }
+    }
+
+    // findTemplate before the matcher: lowercase everything, first contains() wins
+    @Benchmark
+    public FeatureTemplate linearScan() {
+        for (FeatureTemplate template : catalogue) {
+            if (feature.toLowerCase().contains(template.getFeatureName().toLowerCase())) {
+                return template;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public FeatureTemplate matcherBest() {
+        return matcher.findBest(feature);
+    }
+
+    @Benchmark
+    public List<TemplateMatcher.Match> matcherRanked() {
+        return matcher.match(feature);
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
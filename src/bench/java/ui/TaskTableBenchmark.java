@@ -0,0 +1,113 @@
+package ui;
+
+import model.DailyTask;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.JTable;
+import javax.swing.table.DefaultTableModel;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refresh cost of the task tables for long histories: the old DefaultTableModel
+ * rebuild (six formatted cells per row) against TaskTableModel.setTasks, each
+ * followed by rendering one screen of rows. Runs headless; use -prof gc for the
+ * allocation per refresh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TaskTableBenchmark {
+
+    private static final int VISIBLE_ROWS = 25;
+    private static final String[] COLUMNS = {"Date", "Repository", "Status", "Planned", "Actual", "Commits"};
+
+    @Param({"1000", "10000", "50000"})
+    public int rows;
+
+    private List<DailyTask> tasks;
+    private DefaultTableModel defaultModel;
+    private JTable defaultTable;
+    private TaskTableModel taskModel;
+    private JTable taskTable;
+
+    @Setup
+    public void setUp() {
+        tasks = history(rows);
+        defaultModel = new DefaultTableModel(COLUMNS, 0);
+        defaultTable = new JTable(defaultModel);
+        taskModel = new TaskTableModel(COLUMNS, "h");
+        taskTable = new JTable(taskModel);
+    }
+
+    // The loop the dashboards used before TaskTableModel
+    @Benchmark
+    public JTable defaultTableModel() {
+        defaultModel.setRowCount(0);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        for (DailyTask task : tasks) {
+            defaultModel.addRow(new Object[]{
+                task.getTaskDate().format(formatter),
+                task.getRepositoryName(),
+                task.getStatus(),
+                task.getPlannedHours() + "h",
+                task.getActualHours() + "h",
+                task.getActualCommits() + "/" + task.getPlannedCommits()
+            });
+        }
+        render(defaultTable);
+        return defaultTable;
+    }
+
+    @Benchmark
+    public JTable taskTableModel() {
+        taskModel.setTasks(tasks);
+        render(taskTable);
+        return taskTable;
+    }
+
+    // What the table does when painting the first screen of rows
+    private static void render(JTable table) {
+        int count = Math.min(VISIBLE_ROWS, table.getRowCount());
+        for (int row = 0; row < count; row++) {
+            for (int column = 0; column < table.getColumnCount(); column++) {
+                table.prepareRenderer(table.getCellRenderer(row, column), row, column);
+            }
+        }
+    }
+
+    private static List<DailyTask> history(int size) {
+        String[] statuses = {"COMPLETED", "COMPLETED", "MISSED", "PENDING"};
+        LocalDate today = LocalDate.now();
+        List<DailyTask> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            DailyTask task = new DailyTask();
+            task.setId(i + 1);
+            task.setTaskDate(today.minusDays(i / 4));
+            task.setRepositoryName("owner/repo-" + (i % 12));
+            task.setStatus(statuses[i % statuses.length]);
+            task.setPlannedHours(2);
+            task.setActualHours(i % 3);
+            task.setPlannedCommits(3);
+            task.setActualCommits(i % 5);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,314 @@
+package app;
+
+import config.AppConfig;
+import dao.UserDAO;
+import db.DBConnection;
+import enums.UserRole;
+import model.User;
+import service.GitHubApiClient;
+import service.GitHubCommitChecker;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless commit verification for every IT user, e.g. from a nightly cron job.
+ *
+ * Users are grouped by access token. Each token gets one lane, and a lane checks its
+ * users one after another, so one token never has two runs in flight. The GitHub
+ * client's rate limiter still paces each token (github.ratelimit.backgroundMinIntervalMs
+ * sets a fixed spacing). Lanes share a pool of batch.verify.threads workers.
+ *
+ * Every finished user is appended to the checkpoint file. A run that is interrupted
+ * (Ctrl+C, kill, crash) skips those users when started again. A user with repositories
+ * that were skipped (low rate limit budget) or could not be fetched is deferred: not
+ * checkpointed, so the next run checks it again. The file is deleted once a run
+ * finishes without failed or deferred users.
+ *
+ *   java -cp SmartStudyPlanner.jar app.BatchVerifier [--threads=8] [--fresh] [--checkpoint=path]
+ */
+public class BatchVerifier {
+
+    private final int threads;
+    private final Checkpoint checkpoint;
+    private final UserDAO userDAO = new UserDAO();
+
+    private volatile boolean stopping;
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private final AtomicInteger verified = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger deferred = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong requestsSaved = new AtomicLong();
+    private final AtomicLong slowestUserMs = new AtomicLong();
+    private volatile String slowestUser;
+    private long startNanos;
+
+    public BatchVerifier(int threads, Path checkpointFile) {
+        this.threads = Math.max(1, threads);
+        this.checkpoint = new Checkpoint(checkpointFile);
+    }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        int threads = AppConfig.BATCH_VERIFY_THREADS;
+        String checkpointFile = AppConfig.BATCH_VERIFY_CHECKPOINT_FILE;
+        boolean fresh = false;
+        for (String arg : args) {
+            if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(arg.substring("--threads=".length()));
+            } else if (arg.startsWith("--checkpoint=")) {
+                checkpointFile = arg.substring("--checkpoint=".length());
+            } else if (arg.equals("--fresh")) {
+                fresh = true;
+            } else {
+                System.err.println("? Unknown argument " + arg);
+                System.err.println("Usage: app.BatchVerifier [--threads=N] [--fresh] [--checkpoint=path]");
+                System.exit(2);
+            }
+        }
+
+        if (!DBConnection.getInstance().testConnection()) {
+            System.err.println("? Failed to connect to database");
+            System.exit(1);
+        }
+
+        BatchVerifier verifier = new BatchVerifier(threads, Paths.get(checkpointFile));
+        Runtime.getRuntime().addShutdownHook(new Thread(verifier::stopAndWait, "batch-verify-shutdown"));
+        boolean clean = verifier.run(fresh);
+        DBConnection.getInstance().closeConnection();
+        System.exit(clean ? 0 : 1);
+    }
+
+    /**
+     * Verifies every IT user not yet in the checkpoint. Returns true if all of them
+     * were verified (the checkpoint is then removed), false if the users could not be
+     * loaded or some were not verified.
+     */
+    public boolean run(boolean fresh) {
+        startNanos = System.nanoTime();
+        try {
+            List<User> users = userDAO.findByRole(UserRole.IT);
+            if (users == null) {
+                System.err.println("? Could not load IT users; checkpoint kept at " + checkpoint.path);
+                return false;
+            }
+
+            Set<Integer> done = fresh ? new HashSet<>() : checkpoint.load();
+            if (fresh) {
+                checkpoint.delete();
+            }
+
+            Map<String, List<User>> lanes = new LinkedHashMap<>();
+            int resumed = 0;
+            int noToken = 0;
+            for (User user : users) {
+                if (done.contains(user.getId())) {
+                    resumed++;
+                } else if (user.getAccessToken() == null || user.getAccessToken().isEmpty()) {
+                    noToken++;
+                } else {
+                    lanes.computeIfAbsent(user.getAccessToken(), k -> new ArrayList<>()).add(user);
+                }
+            }
+            int toVerify = users.size() - resumed - noToken;
+
+            System.out.println("?? Batch verification: " + users.size() + " IT users, " + toVerify + " to verify on " +
+                    lanes.size() + " tokens with " + threads + " threads" +
+                    (resumed > 0 ? ", " + resumed + " already done (resuming " + checkpoint.path + ")" : ""));
+            if (resumed == 0) {
+                checkpoint.start();
+            }
+
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, lanes.size())), runnable -> {
+                Thread thread = new Thread(runnable, "batch-verify");
+                thread.setDaemon(true);
+                return thread;
+            });
+            for (List<User> lane : lanes.values()) {
+                pool.submit(() -> runLane(lane, toVerify));
+            }
+            pool.shutdown();
+            while (!pool.awaitTermination(1, TimeUnit.SECONDS)) {
+                if (stopping) {
+                    // Lanes stop between repositories; give the current ones a moment to finish
+                    pool.awaitTermination(30, TimeUnit.SECONDS);
+                    break;
+                }
+            }
+
+            int remaining = toVerify - verified.get() - failed.get() - deferred.get();
+            printSummary(users.size(), resumed, noToken, remaining);
+
+            boolean clean = failed.get() == 0 && deferred.get() == 0 && remaining == 0 && !stopping;
+            if (clean) {
+                checkpoint.delete();
+            } else {
+                System.out.println("?? Checkpoint kept at " + checkpoint.path + "; run again to resume");
+            }
+            return clean;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (IOException e) {
+            System.err.println("? Checkpoint error: " + e.getMessage());
+            return false;
+        } finally {
+            finished.countDown();
+        }
+    }
+
+    private void runLane(List<User> lane, int toVerify) {
+        for (User user : lane) {
+            if (stopping) return;
+
+            long start = System.nanoTime();
+            GitHubCommitChecker checker = new GitHubCommitChecker();
+            try {
+                checker.checkAndUpdateAllTasks(user, new GitHubCommitChecker.ProgressListener() {
+                    @Override
+                    public void verificationStarted(int repoCount) {
+                    }
+
+                    @Override
+                    public void repoChecked(String repoName, int checked, int repoCount) {
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return stopping;
+                    }
+                });
+            } catch (RuntimeException e) {
+                failed.incrementAndGet();
+                System.err.println("? Verification failed for user " + user.getId() + ": " + e);
+                continue;
+            } finally {
+                requests.addAndGet(checker.getRequestsMade());
+                requestsSaved.addAndGet(checker.getRequestsSaved());
+            }
+
+            // A user cut short by shutdown is verified again on resume
+            if (stopping) return;
+
+            // Repositories left pending by the rate limit or a GitHub error are checked on the next run
+            int skipped = checker.getReposSkipped();
+            int repoErrors = checker.getReposFailed();
+            if (skipped + repoErrors > 0) {
+                deferred.incrementAndGet();
+                System.err.println("? User " + user.getId() + " deferred: " + skipped + " repositories skipped, " +
+                        repoErrors + " failed");
+                continue;
+            }
+
+            try {
+                checkpoint.markDone(user.getId());
+            } catch (IOException e) {
+                System.err.println("? Could not write checkpoint for user " + user.getId() + ": " + e.getMessage());
+            }
+
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            if (ms > slowestUserMs.get()) {
+                slowestUserMs.set(ms);
+                slowestUser = user.getId() + " (" + user.getEmail() + ")";
+            }
+            int count = verified.incrementAndGet();
+            System.out.println(String.format("?? [%d/%d] user %d verified in %.1f s, %d requests (%s)",
+                    count, toVerify, user.getId(), ms / 1000.0, checker.getRequestsMade(), rates()));
+        }
+    }
+
+    private String rates() {
+        double minutes = Math.max((System.nanoTime() - startNanos) / 60_000_000_000.0, 1e-9);
+        return String.format("%.1f users/min, %.0f requests/min", verified.get() / minutes, requests.get() / minutes);
+    }
+
+    private void printSummary(int total, int resumed, int noToken, int remaining) {
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        System.out.println("?? Batch verification summary");
+        System.out.println("   IT users:          " + total);
+        System.out.println("   verified:          " + verified.get());
+        System.out.println("   from checkpoint:   " + resumed);
+        System.out.println("   without token:     " + noToken);
+        System.out.println("   failed:            " + failed.get());
+        System.out.println("   deferred:          " + deferred.get());
+        System.out.println("   not reached:       " + remaining + (stopping ? " (interrupted)" : ""));
+        System.out.println("   GitHub requests:   " + requests.get() + " made, " + requestsSaved.get() + " saved");
+        System.out.println(String.format("   elapsed:           %.1f s (%s)", elapsedMs / 1000.0, rates()));
+        if (slowestUser != null) {
+            System.out.println("   slowest user:      " + slowestUser + ", " + slowestUserMs.get() + " ms");
+        }
+        GitHubApiClient.getInstance().logStats();
+    }
+
+    // Shutdown hook: let running lanes stop between repositories, then let run() print its summary
+    private void stopAndWait() {
+        if (finished.getCount() == 0) return;
+        stopping = true;
+        System.out.println("?? Stopping batch verification...");
+        try {
+            finished.await(45, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Append-only list of finished user ids, one per line; '#' lines are comments
+    private static class Checkpoint {
+        final Path path;
+
+        Checkpoint(Path path) {
+            this.path = path;
+        }
+
+        Set<Integer> load() throws IOException {
+            Set<Integer> done = new HashSet<>();
+            if (!Files.exists(path)) return done;
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                try {
+                    done.add(Integer.parseInt(line));
+                } catch (NumberFormatException e) {
+                    // A line torn by a crash mid-write; that user is simply verified again
+                }
+            }
+            return done;
+        }
+
+        void start() throws IOException {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, "# batch verification started " + Instant.now() + "\n", StandardCharsets.UTF_8);
+        }
+
+        synchronized void markDone(int userId) throws IOException {
+            Files.writeString(path, userId + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        }
+
+        void delete() throws IOException {
+            Files.deleteIfExists(path);
+        }
+    }
+}
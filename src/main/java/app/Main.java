@@ -1,5 +1,6 @@
 package app;
 
+import ui.EdtWatchdog;
 import ui.LoginFrame;
 import config.AppConfig;
 import db.DBConnection;
@@ -9,6 +10,12 @@ import java.awt.*;
 
 public class Main {
     public static void main(String[] args) {
+        // Measure event dispatch from the first frame on (ui.edt.watchdog.enabled, off by default)
+        EdtWatchdog.install();
+        if (EdtWatchdog.isInstalled() && AppConfig.APP_DEBUG) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> System.out.println("?? " + EdtWatchdog.report())));
+        }
+
         SwingUtilities.invokeLater(() -> {
             try {
                 // Set system look and feel
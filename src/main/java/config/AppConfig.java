@@ -21,6 +21,63 @@ public class AppConfig {
     public static final String DB_USER;
     public static final String DB_PASSWORD;
 
+    // Connection Pool Configuration
+    public static final int DB_POOL_MIN_SIZE;
+    public static final int DB_POOL_MAX_SIZE;
+    public static final long DB_POOL_MAX_WAIT_MS;
+    public static final long DB_POOL_IDLE_TIMEOUT_MS;
+    public static final long DB_POOL_LEAK_THRESHOLD_MS;
+    public static final int DB_POOL_VALIDATION_TIMEOUT_SECONDS;
+    public static final int DB_BATCH_SIZE;
+
+    // Plan Generation Configuration
+    public static final boolean PLAN_CONCURRENT_GENERATION;
+    public static final int PLAN_MAX_CONCURRENCY;
+    public static final boolean PLAN_SERIES_ENABLED;
+    public static final service.PlanScheduler.Strategy PLAN_SCHEDULER;
+    public static final int PLAN_REPLAN_MAX_DAILY_HOURS;
+    public static final boolean PLAN_REPLAN_ON_MISSED;
+
+    // Template Catalogue Configuration
+    public static final String TEMPLATES_CATALOG_DIR;
+    public static final boolean TEMPLATES_RELOAD;
+
+    // GitHub Sync Configuration
+    public static final String GITHUB_API_BASE_URL;
+    public static final boolean GITHUB_INCREMENTAL_SYNC;
+    public static final long GITHUB_DETECT_TTL_MS;
+    public static final int GITHUB_PAGES_MAX_CONCURRENCY;
+    public static final int GITHUB_PAGES_MAX;
+
+    // GitHub Response Cache Configuration
+    public static final boolean GITHUB_CACHE_ENABLED;
+    public static final long GITHUB_CACHE_MEMORY_MAX_BYTES;
+    public static final String GITHUB_CACHE_DISK_DIR;
+    public static final long GITHUB_CACHE_DISK_MAX_BYTES;
+
+    // GitHub Rate Limit Configuration
+    public static final int GITHUB_RATELIMIT_INTERACTIVE_RESERVE;
+    public static final long GITHUB_RATELIMIT_MAX_WAIT_INTERACTIVE_MS;
+    public static final long GITHUB_RATELIMIT_MAX_WAIT_BACKGROUND_MS;
+    public static final long GITHUB_RATELIMIT_SECONDARY_BACKOFF_MS;
+    public static final long GITHUB_RATELIMIT_BACKGROUND_MIN_INTERVAL_MS;
+
+    // Batch Verification Configuration
+    public static final int BATCH_VERIFY_THREADS;
+    public static final String BATCH_VERIFY_CHECKPOINT_FILE;
+
+    // HTTP Client Configuration
+    public static final long HTTP_CONNECT_TIMEOUT_MS;
+    public static final long HTTP_REQUEST_TIMEOUT_MS;
+    public static final int HTTP_MAX_CONCURRENT_PER_HOST;
+
+    // UI Responsiveness
+    public static final boolean UI_EDT_WATCHDOG_ENABLED;
+    public static final long UI_EDT_STALL_THRESHOLD_MS;
+
+    // Application Settings
+    public static final boolean APP_DEBUG;
+
     static {
         try (InputStream input = AppConfig.class.getClassLoader().getResourceAsStream("config.properties")) {
             if (input != null) {
@@ -31,7 +88,7 @@ public class AppConfig {
                 props.setProperty("google.client.secret", "YOUR_GOOGLE_CLIENT_SECRET");
                 props.setProperty("github.client.id", "YOUR_GITHUB_CLIENT_ID");
                 props.setProperty("github.client.secret", "YOUR_GITHUB_CLIENT_SECRET");
-                props.setProperty("db.url", "jdbc:mysql://localhost:3306/smart_study_planner");
+                props.setProperty("db.url", "jdbc:mysql://localhost:3306/smart_study_planner?rewriteBatchedStatements=true");
                 props.setProperty("db.user", "root");
                 props.setProperty("db.password", "");
             }
@@ -39,6 +96,11 @@ public class AppConfig {
             e.printStackTrace();
         }
 
+        // -Dkey=value on the command line wins over config.properties (benchmarks, headless runs)
+        for (String key : System.getProperties().stringPropertyNames()) {
+            props.setProperty(key, System.getProperty(key));
+        }
+
         GOOGLE_CLIENT_ID = props.getProperty("google.client.id");
         GOOGLE_CLIENT_SECRET = props.getProperty("google.client.secret");
         GITHUB_CLIENT_ID = props.getProperty("github.client.id");
@@ -46,6 +108,44 @@ public class AppConfig {
         DB_URL = props.getProperty("db.url");
         DB_USER = props.getProperty("db.user");
         DB_PASSWORD = props.getProperty("db.password");
+        DB_POOL_MIN_SIZE = Integer.parseInt(props.getProperty("db.pool.min", "2"));
+        DB_POOL_MAX_SIZE = Integer.parseInt(props.getProperty("db.pool.max", "10"));
+        DB_POOL_MAX_WAIT_MS = Long.parseLong(props.getProperty("db.pool.maxWaitMs", "10000"));
+        DB_POOL_IDLE_TIMEOUT_MS = Long.parseLong(props.getProperty("db.pool.idleTimeoutMs", "300000"));
+        DB_POOL_LEAK_THRESHOLD_MS = Long.parseLong(props.getProperty("db.pool.leakThresholdMs", "60000"));
+        DB_POOL_VALIDATION_TIMEOUT_SECONDS = Integer.parseInt(props.getProperty("db.pool.validationTimeoutSeconds", "2"));
+        DB_BATCH_SIZE = Integer.parseInt(props.getProperty("db.batch.size", "500"));
+        PLAN_CONCURRENT_GENERATION = Boolean.parseBoolean(props.getProperty("plan.generation.concurrent", "true"));
+        PLAN_MAX_CONCURRENCY = Integer.parseInt(props.getProperty("plan.generation.maxConcurrency", "4"));
+        PLAN_SERIES_ENABLED = Boolean.parseBoolean(props.getProperty("plan.series.enabled", "true"));
+        PLAN_SCHEDULER = "SEQUENTIAL".equalsIgnoreCase(props.getProperty("plan.scheduler", "BALANCED").trim())
+                ? service.PlanScheduler.Strategy.SEQUENTIAL : service.PlanScheduler.Strategy.BALANCED;
+        PLAN_REPLAN_MAX_DAILY_HOURS = Integer.parseInt(props.getProperty("plan.replan.maxDailyHours", "6").trim());
+        PLAN_REPLAN_ON_MISSED = Boolean.parseBoolean(props.getProperty("plan.replan.onMissed", "true"));
+        TEMPLATES_CATALOG_DIR = props.getProperty("templates.catalogDir", "templates").trim();
+        TEMPLATES_RELOAD = Boolean.parseBoolean(props.getProperty("templates.reload", "true"));
+        GITHUB_API_BASE_URL = props.getProperty("github.api.baseUrl", "https://api.github.com").trim().replaceAll("/+$", "");
+        GITHUB_INCREMENTAL_SYNC = Boolean.parseBoolean(props.getProperty("github.sync.incremental", "true"));
+        GITHUB_DETECT_TTL_MS = Long.parseLong(props.getProperty("github.detect.ttlMs", "600000"));
+        GITHUB_PAGES_MAX_CONCURRENCY = Integer.parseInt(props.getProperty("github.pages.maxConcurrency", "4"));
+        GITHUB_PAGES_MAX = Integer.parseInt(props.getProperty("github.pages.max", "50"));
+        GITHUB_CACHE_ENABLED = Boolean.parseBoolean(props.getProperty("github.cache.enabled", "true"));
+        GITHUB_CACHE_MEMORY_MAX_BYTES = Long.parseLong(props.getProperty("github.cache.memoryMaxBytes", "16777216"));
+        GITHUB_CACHE_DISK_DIR = props.getProperty("github.cache.diskDir", "").trim();
+        GITHUB_CACHE_DISK_MAX_BYTES = Long.parseLong(props.getProperty("github.cache.diskMaxBytes", "67108864"));
+        GITHUB_RATELIMIT_INTERACTIVE_RESERVE = Integer.parseInt(props.getProperty("github.ratelimit.interactiveReserve", "100"));
+        GITHUB_RATELIMIT_MAX_WAIT_INTERACTIVE_MS = Long.parseLong(props.getProperty("github.ratelimit.maxWaitInteractiveMs", "15000"));
+        GITHUB_RATELIMIT_MAX_WAIT_BACKGROUND_MS = Long.parseLong(props.getProperty("github.ratelimit.maxWaitBackgroundMs", "300000"));
+        GITHUB_RATELIMIT_SECONDARY_BACKOFF_MS = Long.parseLong(props.getProperty("github.ratelimit.secondaryBackoffMs", "60000"));
+        GITHUB_RATELIMIT_BACKGROUND_MIN_INTERVAL_MS = Long.parseLong(props.getProperty("github.ratelimit.backgroundMinIntervalMs", "0"));
+        BATCH_VERIFY_THREADS = Integer.parseInt(props.getProperty("batch.verify.threads", "4"));
+        BATCH_VERIFY_CHECKPOINT_FILE = props.getProperty("batch.verify.checkpointFile", ".cache/batch-verify.checkpoint");
+        HTTP_CONNECT_TIMEOUT_MS = Long.parseLong(props.getProperty("http.connectTimeoutMs", "10000"));
+        HTTP_REQUEST_TIMEOUT_MS = Long.parseLong(props.getProperty("http.requestTimeoutMs", "30000"));
+        HTTP_MAX_CONCURRENT_PER_HOST = Integer.parseInt(props.getProperty("http.maxConcurrentPerHost", "8"));
+        UI_EDT_WATCHDOG_ENABLED = Boolean.parseBoolean(props.getProperty("ui.edt.watchdog.enabled", "false"));
+        UI_EDT_STALL_THRESHOLD_MS = Long.parseLong(props.getProperty("ui.edt.stallThresholdMs", "200"));
+        APP_DEBUG = Boolean.parseBoolean(props.getProperty("app.debug", "false"));
     }
 
     public static void initialize() {
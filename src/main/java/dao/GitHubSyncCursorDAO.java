@@ -0,0 +1,82 @@
+package dao;
+
+import db.DBConnection;
+import model.GitHubSyncCursor;
+
+import java.sql.*;
+
+public class GitHubSyncCursorDAO {
+
+    public void saveOrUpdate(GitHubSyncCursor cursor) {
+        String sql = """
+            INSERT INTO github_sync_cursor (user_id, repo_name, last_commit_at, last_commit_sha, last_synced_at)
+            VALUES (?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+            last_commit_at = VALUES(last_commit_at),
+            last_commit_sha = VALUES(last_commit_sha),
+            last_synced_at = VALUES(last_synced_at)
+        """;
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, cursor.getUserId());
+            stmt.setString(2, cursor.getRepoName());
+            stmt.setTimestamp(3, cursor.getLastCommitAt() != null ? Timestamp.from(cursor.getLastCommitAt()) : null);
+            stmt.setString(4, cursor.getLastCommitSha());
+            stmt.setTimestamp(5, cursor.getLastSyncedAt() != null ? Timestamp.from(cursor.getLastSyncedAt()) : null);
+
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public GitHubSyncCursor findByUserAndRepo(int userId, String repoName) {
+        String sql = "SELECT * FROM github_sync_cursor WHERE user_id = ? AND repo_name = ?";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, userId);
+            stmt.setString(2, repoName);
+            ResultSet rs = stmt.executeQuery();
+
+            if (rs.next()) {
+                return mapResultSetToCursor(rs);
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+
+        return null;
+    }
+
+    public boolean deleteByUserId(int userId) {
+        String sql = "DELETE FROM github_sync_cursor WHERE user_id = ?";
+
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, userId);
+            stmt.executeUpdate();
+            return true;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private GitHubSyncCursor mapResultSetToCursor(ResultSet rs) throws SQLException {
+        GitHubSyncCursor cursor = new GitHubSyncCursor();
+        cursor.setId(rs.getInt("id"));
+        cursor.setUserId(rs.getInt("user_id"));
+        cursor.setRepoName(rs.getString("repo_name"));
+        Timestamp lastCommitAt = rs.getTimestamp("last_commit_at");
+        cursor.setLastCommitAt(lastCommitAt != null ? lastCommitAt.toInstant() : null);
+        cursor.setLastCommitSha(rs.getString("last_commit_sha"));
+        Timestamp lastSyncedAt = rs.getTimestamp("last_synced_at");
+        cursor.setLastSyncedAt(lastSyncedAt != null ? lastSyncedAt.toInstant() : null);
+        return cursor;
+    }
+}
@@ -1,22 +1,73 @@
 package dao;
 
 import model.Goal;
+import model.DailyTask;
 import db.DBConnection;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class GoalDAO {
     
     public boolean save(Goal goal) {
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            insert(conn, goal);
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error saving goal: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return false;
+    }
+    
+    // Saves every goal and its tasks in one transaction; nothing is written if any insert fails
+    public boolean savePlan(Map<Goal, List<DailyTask>> tasksByGoal) {
+        if (tasksByGoal.isEmpty()) return true;
+        
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<DailyTask> allTasks = new ArrayList<>();
+                for (Map.Entry<Goal, List<DailyTask>> entry : tasksByGoal.entrySet()) {
+                    Goal goal = entry.getKey();
+                    insert(conn, goal);
+                    for (DailyTask task : entry.getValue()) {
+                        task.setGoalId(goal.getId());
+                    }
+                    allTasks.addAll(entry.getValue());
+                }
+                new StudyTaskDAO().insertBatch(conn, allTasks);
+                conn.commit();
+                StudyTaskDAO.markWritten();
+                System.out.println("? Saved " + tasksByGoal.size() + " goals and " + allTasks.size() + " tasks in one transaction");
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            System.err.println("Error saving plan: " + e.getMessage());
+            e.printStackTrace();
+            for (Map.Entry<Goal, List<DailyTask>> entry : tasksByGoal.entrySet()) {
+                entry.getKey().setId(0);
+                for (DailyTask task : entry.getValue()) {
+                    task.setId(0);
+                }
+            }
+            return false;
+        }
+    }
+    
+    void insert(Connection conn, Goal goal) throws SQLException {
         String sql = "INSERT INTO goals (user_id, repository_name, priority, target_features, " +
                     "duration_months, daily_hours, experience_level, start_date, end_date, " +
                     "target_commits, current_commits, status) " +
                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
+        try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             stmt.setInt(1, goal.getUserId());
             stmt.setString(2, goal.getRepositoryName());
             stmt.setString(3, goal.getPriority());
@@ -30,21 +81,14 @@ public class GoalDAO {
             stmt.setInt(11, goal.getCurrentCommits());
             stmt.setString(12, goal.getStatus());
             
-            int affectedRows = stmt.executeUpdate();
-            
-            if (affectedRows > 0) {
-                try (ResultSet rs = stmt.getGeneratedKeys()) {
-                    if (rs.next()) {
-                        goal.setId(rs.getInt(1));
-                    }
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (!rs.next()) {
+                    throw new SQLException("No generated key returned for goal " + goal.getRepositoryName());
                 }
-                return true;
+                goal.setId(rs.getInt(1));
             }
-        } catch (SQLException e) {
-            System.err.println("Error saving goal: " + e.getMessage());
-            e.printStackTrace();
         }
-        return false;
     }
     
     public List<Goal> findByUserId(int userId) {
@@ -73,6 +117,8 @@ public class GoalDAO {
             
             stmt.setInt(1, userId);
             int deleted = stmt.executeUpdate();
+            // Tasks of the deleted goals go with them (ON DELETE CASCADE)
+            StudyTaskDAO.markWritten();
             System.out.println("? Deleted " + deleted + " goals for user " + userId);
             return true;
         } catch (SQLException e) {
@@ -87,7 +133,9 @@ public class GoalDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, goalId);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            StudyTaskDAO.markWritten();
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting goal: " + e.getMessage());
             return false;
@@ -1,30 +1,58 @@
 package dao;
 
 import model.DailyTask;
+import model.PlanDiff;
+import model.TaskSeries;
+import model.TaskAggregate;
+import enums.TaskGrouping;
+import config.AppConfig;
 import db.DBConnection;
 import java.sql.*;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class StudyTaskDAO {
     
+    private static final String AGGREGATES =
+                "COUNT(*) AS task_count, " +
+                "COALESCE(SUM(status = 'COMPLETED'), 0) AS completed_count, " +
+                "COALESCE(SUM(status = 'MISSED'), 0) AS missed_count, " +
+                "COALESCE(SUM(status = 'PENDING'), 0) AS pending_count, " +
+                "COALESCE(SUM(planned_commits), 0) AS planned_commits, " +
+                "COALESCE(SUM(actual_commits), 0) AS actual_commits, " +
+                "COALESCE(SUM(planned_hours), 0) AS planned_hours, " +
+                "COALESCE(SUM(actual_hours), 0) AS actual_hours, " +
+                "MAX(CASE WHEN actual_commits > 0 THEN task_date END) AS last_commit_date";
+    
+    // Bumped on every write so callers can tell when cached results are stale
+    private static final AtomicLong WRITE_VERSION = new AtomicLong();
+    
+    private static final String OVERRIDE_SQL = "INSERT INTO study_tasks (user_id, goal_id, repository_name, task_date, " +
+                "planned_hours, planned_commits, status, description, actual_hours, actual_commits, series_id) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String INSERT_SQL = "INSERT INTO study_tasks (user_id, goal_id, repository_name, task_date, " +
+                "planned_hours, planned_commits, status, description) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private final TaskSeriesDAO seriesDAO = new TaskSeriesDAO();
+    private final GitHubSyncCursorDAO cursorDAO = new GitHubSyncCursorDAO();
+    
     public boolean save(DailyTask task) {
-        String sql = "INSERT INTO study_tasks (user_id, repository_name, task_date, planned_hours, " +
-                    "planned_commits, status, description) VALUES (?, ?, ?, ?, ?, ?, ?)";
-        
         try (Connection conn = DBConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            stmt.setInt(1, task.getUserId());
-            stmt.setString(2, task.getRepositoryName());
-            stmt.setDate(3, Date.valueOf(task.getTaskDate()));
-            stmt.setInt(4, task.getPlannedHours());
-            stmt.setInt(5, task.getPlannedCommits());
-            stmt.setString(6, task.getStatus());
-            stmt.setString(7, task.getDescription());
+            bindInsert(stmt, task);
             
             int affectedRows = stmt.executeUpdate();
+            markWritten();
             
             if (affectedRows > 0) {
                 try (ResultSet rs = stmt.getGeneratedKeys()) {
@@ -41,38 +69,254 @@ public class StudyTaskDAO {
         return false;
     }
     
+    // Writes the whole list in one transaction using JDBC batches of DB_BATCH_SIZE rows.
+    // With rewriteBatchedStatements=true the driver sends each batch as a single
+    // multi-row INSERT, and the generated keys come back in insertion order.
     public boolean saveAll(List<DailyTask> tasks) {
+        if (tasks.isEmpty()) return true;
+        
+        long start = System.nanoTime();
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                insertBatch(conn, tasks);
+                conn.commit();
+                markWritten();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            reportThroughput("batched", tasks.size(), System.nanoTime() - start);
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error batch saving " + tasks.size() + " tasks: " + e.getMessage());
+            e.printStackTrace();
+            for (DailyTask task : tasks) {
+                task.setId(0);
+            }
+            return false;
+        }
+    }
+    
+    // Old one-INSERT-per-task path, kept for comparing throughput against saveAll
+    public boolean saveAllIndividually(List<DailyTask> tasks) {
+        long start = System.nanoTime();
         boolean allSaved = true;
         for (DailyTask task : tasks) {
             if (!save(task)) {
                 allSaved = false;
             }
         }
+        reportThroughput("per-row", tasks.size(), System.nanoTime() - start);
         return allSaved;
     }
     
+    void insertBatch(Connection conn, List<DailyTask> tasks) throws SQLException {
+        int batchSize = Math.max(1, AppConfig.DB_BATCH_SIZE);
+        
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            for (int from = 0; from < tasks.size(); from += batchSize) {
+                List<DailyTask> chunk = tasks.subList(from, Math.min(from + batchSize, tasks.size()));
+                
+                for (DailyTask task : chunk) {
+                    bindInsert(stmt, task);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                markWritten();
+                
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    int i = 0;
+                    while (rs.next() && i < chunk.size()) {
+                        chunk.get(i++).setId(rs.getInt(1));
+                    }
+                    if (i != chunk.size()) {
+                        throw new SQLException("Expected " + chunk.size() + " generated keys but got " + i);
+                    }
+                }
+            }
+        }
+    }
+    
+    private void bindInsert(PreparedStatement stmt, DailyTask task) throws SQLException {
+        stmt.setInt(1, task.getUserId());
+        // Tasks from the legacy generators have no goal
+        if (task.getGoalId() > 0) {
+            stmt.setInt(2, task.getGoalId());
+        } else {
+            stmt.setNull(2, Types.INTEGER);
+        }
+        stmt.setString(3, task.getRepositoryName());
+        stmt.setDate(4, Date.valueOf(task.getTaskDate()));
+        stmt.setInt(5, task.getPlannedHours());
+        stmt.setInt(6, task.getPlannedCommits());
+        stmt.setString(7, task.getStatus());
+        stmt.setString(8, task.getDescription());
+    }
+    
+    private void reportThroughput(String mode, int rows, long nanos) {
+        double millis = nanos / 1_000_000.0;
+        double rowsPerSec = nanos > 0 ? rows / (nanos / 1_000_000_000.0) : 0;
+        System.out.println(String.format("?? Saved %d tasks (%s) in %.1f ms - %.0f rows/sec",
+            rows, mode, millis, rowsPerSec));
+    }
+    
+    // Whole history, oldest first; prefer find() with a narrower TaskQuery
     public List<DailyTask> findByUserId(int userId) {
+        return find(TaskQuery.forUser(userId));
+    }
+    
+    // Filtered, projected and optionally paged lookup; see TaskQuery.
+    // Days of recurring task series are merged in as virtual tasks (see TaskSeries).
+    public List<DailyTask> find(TaskQuery query) {
         List<DailyTask> tasks = new ArrayList<>();
-        String sql = "SELECT * FROM study_tasks WHERE user_id = ? ORDER BY task_date ASC";
         
-        try (Connection conn = DBConnection.getInstance().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, userId);
-            ResultSet rs = stmt.executeQuery();
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(query.selectSql())) {
+                query.bind(stmt, true);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    Set<String> columns = columnsOf(rs);
+                    while (rs.next()) {
+                        tasks.add(mapResultSetToTask(rs, columns));
+                    }
+                }
+            }
             
-            while (rs.next()) {
-                tasks.add(mapResultSetToTask(rs));
+            List<DailyTask> days = seriesDAO.findOccurrences(conn, query, true);
+            if (!days.isEmpty()) {
+                tasks.addAll(days);
+                tasks.sort(query.order());
+                if (query.getLimit() > 0 && tasks.size() > query.getLimit()) {
+                    tasks = new ArrayList<>(tasks.subList(0, query.getLimit()));
+                }
             }
         } catch (SQLException e) {
-            System.err.println("Error fetching tasks: " + e.getMessage());
+            System.err.println("Error fetching tasks (" + query + "): " + e.getMessage());
             e.printStackTrace();
         }
         return tasks;
     }
     
+    public int count(TaskQuery query) {
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            int stored;
+            try (PreparedStatement stmt = conn.prepareStatement(query.countSql())) {
+                query.bind(stmt, false);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    stored = rs.next() ? rs.getInt(1) : 0;
+                }
+            }
+            for (TaskSeriesDAO.SeriesWindow window : seriesDAO.findWindows(conn, query)) {
+                stored += window.count();
+            }
+            return stored;
+        } catch (SQLException e) {
+            System.err.println("Error counting tasks: " + e.getMessage());
+            e.printStackTrace();
+            return 0;
+        }
+    }
+    
+    // Task counts and sums for the filter, computed in one SQL row (plus any task series days)
+    public TaskAggregate aggregate(TaskQuery query) {
+        Map<String, TaskAggregate> rows = runAggregate(query, null, null);
+        return rows.isEmpty() ? TaskAggregate.empty(null) : rows.values().iterator().next();
+    }
+    
+    // One aggregate per group value; WEEK keys are the ISO week's Monday (yyyy-MM-dd)
+    public Map<String, TaskAggregate> aggregate(TaskQuery query, TaskGrouping grouping) {
+        String keyExpr;
+        switch (grouping) {
+            case STATUS: keyExpr = "status"; break;
+            case REPOSITORY: keyExpr = "repository_name"; break;
+            case GOAL: keyExpr = "goal_id"; break;
+            case WEEK: keyExpr = "DATE_SUB(task_date, INTERVAL WEEKDAY(task_date) DAY)"; break;
+            default: throw new IllegalArgumentException("Unsupported grouping: " + grouping);
+        }
+        return runAggregate(query, grouping, keyExpr);
+    }
+    
+    private Map<String, TaskAggregate> runAggregate(TaskQuery query, TaskGrouping grouping, String keyExpr) {
+        Map<String, TaskAggregate> rows = new LinkedHashMap<>();
+        
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(query.aggregateSql(keyExpr, AGGREGATES))) {
+                query.bind(stmt, false);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        String key = rs.getString("group_key");
+                        Date lastCommit = rs.getDate("last_commit_date");
+                        rows.put(key, new TaskAggregate(key,
+                            rs.getInt("task_count"),
+                            rs.getInt("completed_count"),
+                            rs.getInt("missed_count"),
+                            rs.getInt("pending_count"),
+                            rs.getInt("planned_commits"),
+                            rs.getInt("actual_commits"),
+                            rs.getInt("planned_hours"),
+                            rs.getInt("actual_hours"),
+                            lastCommit != null ? lastCommit.toLocalDate() : null));
+                    }
+                }
+            }
+            
+            // Series days are pending and uncommitted; they are counted per series (per week
+            // for WEEK) from the dates and folded into their group
+            for (TaskSeriesDAO.SeriesWindow window : seriesDAO.findWindows(conn, query)) {
+                if (grouping != TaskGrouping.WEEK) {
+                    addSeriesDays(rows, seriesKey(window.series, grouping), window.series, window.count());
+                    continue;
+                }
+                Map<LocalDate, Integer> overriddenByWeek = new HashMap<>();
+                for (LocalDate day : window.overridden) {
+                    overriddenByWeek.merge(day.with(DayOfWeek.MONDAY), 1, Integer::sum);
+                }
+                for (LocalDate week = window.first.with(DayOfWeek.MONDAY); !week.isAfter(window.last); week = week.plusWeeks(1)) {
+                    LocalDate from = week.isBefore(window.first) ? window.first : week;
+                    LocalDate to = week.plusDays(6).isAfter(window.last) ? window.last : week.plusDays(6);
+                    int days = window.series.countBetween(from, to) - overriddenByWeek.getOrDefault(week, 0);
+                    addSeriesDays(rows, week.toString(), window.series, days);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error aggregating tasks: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return rows;
+    }
+    
+    private static void addSeriesDays(Map<String, TaskAggregate> rows, String key, TaskSeries series, int days) {
+        if (days <= 0) return;
+        rows.merge(key, new TaskAggregate(key, days, 0, 0, days, days * series.getPlannedCommits(), 0,
+            days * series.getPlannedHours(), 0, null), TaskAggregate::plus);
+    }
+    
+    // The group_key SQL would have produced for the series' days (WEEK is keyed per week by the caller)
+    private static String seriesKey(TaskSeries series, TaskGrouping grouping) {
+        if (grouping == null) return null;
+        switch (grouping) {
+            case STATUS: return "PENDING";
+            case REPOSITORY: return series.getRepositoryName();
+            case GOAL: return series.getGoalId() > 0 ? String.valueOf(series.getGoalId()) : null;
+            default: throw new IllegalArgumentException("Unsupported grouping: " + grouping);
+        }
+    }
+    
+    public static long getWriteVersion() {
+        return WRITE_VERSION.get();
+    }
+    
+    static void markWritten() {
+        WRITE_VERSION.incrementAndGet();
+    }
+    
     // ========== ADD THIS UPDATE METHOD ==========
     public boolean update(DailyTask task) {
+        if (task.isVirtual()) {
+            return saveOverride(task);
+        }
         String sql = "UPDATE study_tasks SET actual_hours = ?, actual_commits = ?, status = ? WHERE id = ?";
         
         try (Connection conn = DBConnection.getInstance().getConnection();
@@ -84,6 +328,7 @@ public class StudyTaskDAO {
             stmt.setInt(4, task.getId());
             
             int rowsAffected = stmt.executeUpdate();
+            markWritten();
             return rowsAffected > 0;
         } catch (SQLException e) {
             System.err.println("Error updating task: " + e.getMessage());
@@ -93,6 +338,123 @@ public class StudyTaskDAO {
     }
     // ============================================
     
+    // First change to a day of a task series: store the day as its own row from now on
+    private boolean saveOverride(DailyTask task) {
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(OVERRIDE_SQL, Statement.RETURN_GENERATED_KEYS)) {
+            
+            bindInsert(stmt, task);
+            stmt.setInt(9, task.getActualHours());
+            stmt.setInt(10, task.getActualCommits());
+            stmt.setInt(11, task.getSeriesId());
+            stmt.executeUpdate();
+            markWritten();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    task.setId(rs.getInt(1));
+                }
+            }
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error saving task series day " + task.getTaskDate() + ": " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    // MISSED tasks of a repository whose hours no replan has moved yet
+    public List<DailyTask> findMissedToReplan(int userId, String repositoryName) {
+        String sql = "SELECT id, user_id, goal_id, repository_name, task_date, planned_hours, actual_hours, " +
+                "planned_commits FROM study_tasks WHERE user_id = ? AND repository_name = ? " +
+                "AND status = 'MISSED' AND replanned = FALSE ORDER BY task_date, id";
+        List<DailyTask> tasks = new ArrayList<>();
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            stmt.setInt(1, userId);
+            stmt.setString(2, repositoryName);
+            try (ResultSet rs = stmt.executeQuery()) {
+                Set<String> columns = columnsOf(rs);
+                while (rs.next()) {
+                    tasks.add(mapResultSetToTask(rs, columns));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Error fetching missed tasks: " + e.getMessage());
+            e.printStackTrace();
+        }
+        return tasks;
+    }
+    
+    // Writes only the rows of a replan, all in one transaction
+    public boolean applyDiff(PlanDiff diff) {
+        if (diff.isEmpty()) return true;
+        
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<DailyTask> inserts = new ArrayList<>();
+                List<DailyTask> overrides = new ArrayList<>();
+                for (DailyTask task : diff.getInserted()) {
+                    (task.isVirtual() ? overrides : inserts).add(task);
+                }
+                try (PreparedStatement stmt = conn.prepareStatement("UPDATE study_tasks SET planned_hours = ? WHERE id = ?")) {
+                    for (DailyTask task : diff.getUpdated()) {
+                        stmt.setInt(1, task.getPlannedHours());
+                        stmt.setInt(2, task.getId());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                insertBatch(conn, inserts);
+                try (PreparedStatement stmt = conn.prepareStatement(OVERRIDE_SQL)) {
+                    for (DailyTask task : overrides) {
+                        bindInsert(stmt, task);
+                        stmt.setInt(9, task.getActualHours());
+                        stmt.setInt(10, task.getActualCommits());
+                        stmt.setInt(11, task.getSeriesId());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                executeForIds(conn, "DELETE FROM study_tasks WHERE id = ?", diff.getDeleted());
+                try (PreparedStatement stmt = conn.prepareStatement("UPDATE study_task_series SET end_date = ? WHERE id = ?")) {
+                    for (Map.Entry<Integer, LocalDate> end : diff.getSeriesEnds().entrySet()) {
+                        stmt.setDate(1, Date.valueOf(end.getValue()));
+                        stmt.setInt(2, end.getKey());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                }
+                executeForIds(conn, "UPDATE study_tasks SET replanned = TRUE WHERE id = ?", diff.getCarried());
+                conn.commit();
+                markWritten();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error applying plan changes (" + diff + "): " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+    
+    private void executeForIds(Connection conn, String sql, List<Integer> ids) throws SQLException {
+        if (ids.isEmpty()) return;
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int id : ids) {
+                stmt.setInt(1, id);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+    
+    // Also drops the GitHub sync cursors, so the next plan is checked from its first day
     public boolean deleteByUserId(int userId) {
         String sql = "DELETE FROM study_tasks WHERE user_id = ?";
         try (Connection conn = DBConnection.getInstance().getConnection();
@@ -100,8 +462,9 @@ public class StudyTaskDAO {
             
             stmt.setInt(1, userId);
             int deleted = stmt.executeUpdate();
+            markWritten();
             System.out.println("? Deleted " + deleted + " tasks for user " + userId);
-            return true;
+            return seriesDAO.deleteByUserId(userId) && cursorDAO.deleteByUserId(userId);
         } catch (SQLException e) {
             System.err.println("Error deleting tasks: " + e.getMessage());
             return false;
@@ -114,25 +477,39 @@ public class StudyTaskDAO {
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
             stmt.setInt(1, taskId);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            markWritten();
+            return deleted;
         } catch (SQLException e) {
             System.err.println("Error deleting task: " + e.getMessage());
             return false;
         }
     }
     
-    private DailyTask mapResultSetToTask(ResultSet rs) throws SQLException {
+    private Set<String> columnsOf(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        Set<String> columns = new HashSet<>();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            columns.add(meta.getColumnLabel(i).toLowerCase());
+        }
+        return columns;
+    }
+    
+    // Maps whichever task columns the query selected
+    private DailyTask mapResultSetToTask(ResultSet rs, Set<String> columns) throws SQLException {
         DailyTask task = new DailyTask();
         task.setId(rs.getInt("id"));
-        task.setUserId(rs.getInt("user_id"));
-        task.setRepositoryName(rs.getString("repository_name"));
+        if (columns.contains("user_id")) task.setUserId(rs.getInt("user_id"));
+        if (columns.contains("goal_id")) task.setGoalId(rs.getInt("goal_id"));
+        if (columns.contains("repository_name")) task.setRepositoryName(rs.getString("repository_name"));
         task.setTaskDate(rs.getDate("task_date").toLocalDate());
-        task.setPlannedHours(rs.getInt("planned_hours"));
-        task.setActualHours(rs.getInt("actual_hours"));
-        task.setPlannedCommits(rs.getInt("planned_commits"));
-        task.setActualCommits(rs.getInt("actual_commits"));
-        task.setStatus(rs.getString("status"));
-        task.setDescription(rs.getString("description"));
+        if (columns.contains("planned_hours")) task.setPlannedHours(rs.getInt("planned_hours"));
+        if (columns.contains("actual_hours")) task.setActualHours(rs.getInt("actual_hours"));
+        if (columns.contains("planned_commits")) task.setPlannedCommits(rs.getInt("planned_commits"));
+        if (columns.contains("actual_commits")) task.setActualCommits(rs.getInt("actual_commits"));
+        if (columns.contains("status")) task.setStatus(rs.getString("status"));
+        if (columns.contains("description")) task.setDescription(rs.getString("description"));
+        if (columns.contains("series_id")) task.setSeriesId(rs.getInt("series_id"));
         return task;
     }
 }
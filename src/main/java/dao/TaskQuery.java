@@ -0,0 +1,251 @@
+package dao;
+
+import model.DailyTask;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Filter, projection and page for StudyTaskDAO.find / count.
+ * Results are ordered by (task_date, id); pass the last row of a page to after()
+ * to fetch the next one (keyset pagination, so later pages cost the same as the first).
+ * Days of recurring task series match like stored rows; their id is -seriesId.
+ *
+ *   TaskQuery.forUser(id).from(today.minusDays(29)).descending().limit(50)
+ */
+public class TaskQuery {
+
+    // Columns that may be projected; id and task_date are always selected for the keyset
+    static final Set<String> COLUMNS = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "id", "user_id", "goal_id", "repository_name", "task_date", "planned_hours", "actual_hours",
+            "planned_commits", "actual_commits", "status", "description", "series_id")));
+
+    private final int userId;
+    private LocalDate from;
+    private LocalDate to;
+    private final List<String> statuses = new ArrayList<>();
+    private String repositoryName;
+    private Integer goalId;
+    private Boolean replanned;
+    private Set<String> columns;
+    private boolean descending;
+    private LocalDate afterDate;
+    private int afterId;
+    private int limit;
+
+    private TaskQuery(int userId) {
+        this.userId = userId;
+    }
+
+    public static TaskQuery forUser(int userId) {
+        return new TaskQuery(userId);
+    }
+
+    // Inclusive lower bound on task_date
+    public TaskQuery from(LocalDate from) {
+        this.from = from;
+        return this;
+    }
+
+    // Inclusive upper bound on task_date
+    public TaskQuery to(LocalDate to) {
+        this.to = to;
+        return this;
+    }
+
+    public TaskQuery on(LocalDate date) {
+        return from(date).to(date);
+    }
+
+    public TaskQuery status(String... statuses) {
+        this.statuses.addAll(Arrays.asList(statuses));
+        return this;
+    }
+
+    public TaskQuery repository(String repositoryName) {
+        this.repositoryName = repositoryName;
+        return this;
+    }
+
+    public TaskQuery goal(int goalId) {
+        this.goalId = goalId;
+        return this;
+    }
+
+    // Whether a replan has already moved the row's missed hours into later days
+    public TaskQuery replanned(boolean replanned) {
+        this.replanned = replanned;
+        return this;
+    }
+
+    // Only load these columns; the other fields of the returned tasks keep their defaults
+    public TaskQuery columns(String... columns) {
+        Set<String> selected = new LinkedHashSet<>(Arrays.asList("id", "task_date"));
+        for (String column : columns) {
+            if (!COLUMNS.contains(column)) {
+                throw new IllegalArgumentException("Unknown study_tasks column: " + column);
+            }
+            selected.add(column);
+        }
+        this.columns = selected;
+        return this;
+    }
+
+    // Newest first
+    public TaskQuery descending() {
+        this.descending = true;
+        return this;
+    }
+
+    // Continue after the given row (the last row of the previous page)
+    public TaskQuery after(LocalDate taskDate, int id) {
+        this.afterDate = taskDate;
+        this.afterId = id;
+        return this;
+    }
+
+    public TaskQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    String selectSql() {
+        String projection = columns == null ? String.join(", ", COLUMNS) : String.join(", ", columns);
+        StringBuilder sql = new StringBuilder("SELECT ").append(projection).append(" FROM study_tasks");
+        appendWhere(sql, true);
+        String direction = descending ? " DESC" : " ASC";
+        sql.append(" ORDER BY task_date").append(direction).append(", id").append(direction);
+        if (limit > 0) {
+            sql.append(" LIMIT ").append(limit);
+        }
+        return sql.toString();
+    }
+
+    String countSql() {
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM study_tasks");
+        appendWhere(sql, false);
+        return sql.toString();
+    }
+
+    // One row per group value, or a single row when keyExpr is null
+    String aggregateSql(String keyExpr, String aggregates) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        sql.append(keyExpr != null ? keyExpr : "NULL").append(" AS group_key, ").append(aggregates);
+        sql.append(" FROM study_tasks");
+        appendWhere(sql, false);
+        if (keyExpr != null) {
+            sql.append(" GROUP BY group_key");
+        }
+        return sql.toString();
+    }
+
+    // Recurring series with days in the filter's date range; keyset and limit apply per day later
+    String seriesSql(String seriesColumns) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(seriesColumns).append(" FROM study_task_series");
+        sql.append(" WHERE user_id = ?");
+        if (goalId != null) sql.append(" AND goal_id = ?");
+        if (repositoryName != null) sql.append(" AND repository_name = ?");
+        if (from != null) sql.append(" AND end_date >= ?");
+        if (to != null) sql.append(" AND start_date <= ?");
+        sql.append(" ORDER BY id");
+        return sql.toString();
+    }
+
+    int bindSeries(PreparedStatement stmt) throws SQLException {
+        int i = 1;
+        stmt.setInt(i++, userId);
+        if (goalId != null) stmt.setInt(i++, goalId);
+        if (repositoryName != null) stmt.setString(i++, repositoryName);
+        if (from != null) stmt.setDate(i++, Date.valueOf(from));
+        if (to != null) stmt.setDate(i++, Date.valueOf(to));
+        return i;
+    }
+
+    // Series days in the date range that have their own row, whatever its status
+    String seriesOverridesSql() {
+        StringBuilder sql = new StringBuilder("SELECT series_id, task_date FROM study_tasks");
+        sql.append(" WHERE user_id = ? AND series_id IS NOT NULL");
+        if (from != null) sql.append(" AND task_date >= ?");
+        if (to != null) sql.append(" AND task_date <= ?");
+        return sql.toString();
+    }
+
+    int bindSeriesOverrides(PreparedStatement stmt) throws SQLException {
+        int i = 1;
+        stmt.setInt(i++, userId);
+        if (from != null) stmt.setDate(i++, Date.valueOf(from));
+        if (to != null) stmt.setDate(i++, Date.valueOf(to));
+        return i;
+    }
+
+    // Days of a series are never stored (nor replanned), so they can only match when PENDING is asked for
+    boolean includesPending() {
+        return (statuses.isEmpty() || statuses.contains("PENDING")) && !Boolean.TRUE.equals(replanned);
+    }
+
+    // Whether a row built outside SQL comes after the keyset position
+    boolean isAfterKeyset(LocalDate taskDate, int id) {
+        if (afterDate == null) return true;
+        int cmp = taskDate.equals(afterDate) ? Integer.compare(id, afterId) : taskDate.compareTo(afterDate);
+        return descending ? cmp < 0 : cmp > 0;
+    }
+
+    // The ORDER BY of selectSql, for merging rows built outside SQL
+    Comparator<DailyTask> order() {
+        Comparator<DailyTask> order = Comparator.comparing(DailyTask::getTaskDate).thenComparingInt(DailyTask::getId);
+        return descending ? order.reversed() : order;
+    }
+
+    LocalDate getFrom() { return from; }
+    LocalDate getTo() { return to; }
+    boolean isDescending() { return descending; }
+    int getLimit() { return limit; }
+
+    private void appendWhere(StringBuilder sql, boolean withKeyset) {
+        sql.append(" WHERE user_id = ?");
+        if (goalId != null) sql.append(" AND goal_id = ?");
+        if (repositoryName != null) sql.append(" AND repository_name = ?");
+        if (!statuses.isEmpty()) {
+            sql.append(" AND status IN (").append(String.join(", ", Collections.nCopies(statuses.size(), "?"))).append(")");
+        }
+        if (replanned != null) sql.append(" AND replanned = ?");
+        if (from != null) sql.append(" AND task_date >= ?");
+        if (to != null) sql.append(" AND task_date <= ?");
+        if (withKeyset && afterDate != null) {
+            String cmp = descending ? "<" : ">";
+            sql.append(" AND (task_date ").append(cmp).append(" ? OR (task_date = ? AND id ").append(cmp).append(" ?))");
+        }
+    }
+
+    // Binds parameters in the same order appendWhere emitted them
+    int bind(PreparedStatement stmt, boolean withKeyset) throws SQLException {
+        int i = 1;
+        stmt.setInt(i++, userId);
+        if (goalId != null) stmt.setInt(i++, goalId);
+        if (repositoryName != null) stmt.setString(i++, repositoryName);
+        for (String status : statuses) stmt.setString(i++, status);
+        if (replanned != null) stmt.setBoolean(i++, replanned);
+        if (from != null) stmt.setDate(i++, Date.valueOf(from));
+        if (to != null) stmt.setDate(i++, Date.valueOf(to));
+        if (withKeyset && afterDate != null) {
+            stmt.setDate(i++, Date.valueOf(afterDate));
+            stmt.setDate(i++, Date.valueOf(afterDate));
+            stmt.setInt(i++, afterId);
+        }
+        return i;
+    }
+
+    @Override
+    public String toString() {
+        return selectSql();
+    }
+}
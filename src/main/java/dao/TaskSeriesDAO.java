@@ -0,0 +1,198 @@
+package dao;
+
+import model.DailyTask;
+import model.TaskSeries;
+import db.DBConnection;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * study_task_series rows: one per recurring plan instead of one study_tasks row per day.
+ * StudyTaskDAO merges the days of these series into its results, so readers see
+ * both forms as plain DailyTasks.
+ */
+public class TaskSeriesDAO {
+
+    static final String COLUMNS = "id, user_id, goal_id, repository_name, start_date, end_date, cadence_days, " +
+                "planned_hours, planned_commits, description_template";
+
+    private static final String INSERT_SQL = "INSERT INTO study_task_series (user_id, goal_id, repository_name, " +
+                "start_date, end_date, cadence_days, planned_hours, planned_commits, description_template) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    public boolean save(TaskSeries series) {
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setInt(1, series.getUserId());
+            if (series.getGoalId() > 0) {
+                stmt.setInt(2, series.getGoalId());
+            } else {
+                stmt.setNull(2, Types.INTEGER);
+            }
+            stmt.setString(3, series.getRepositoryName());
+            stmt.setDate(4, Date.valueOf(series.getStartDate()));
+            stmt.setDate(5, Date.valueOf(series.getEndDate()));
+            stmt.setInt(6, series.getCadenceDays());
+            stmt.setInt(7, series.getPlannedHours());
+            stmt.setInt(8, series.getPlannedCommits());
+            stmt.setString(9, series.getDescriptionTemplate());
+
+            stmt.executeUpdate();
+            StudyTaskDAO.markWritten();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    series.setId(rs.getInt(1));
+                }
+            }
+            System.out.println("?? Saved task series " + series.getId() + " for " + series.getRepositoryName() + ": "
+                + series.getOccurrenceCount() + " days in one row");
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error saving task series: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    public List<TaskSeries> findByUserId(int userId) {
+        try (Connection conn = DBConnection.getInstance().getConnection()) {
+            return find(conn, TaskQuery.forUser(userId));
+        } catch (SQLException e) {
+            System.err.println("Error fetching task series: " + e.getMessage());
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    List<TaskSeries> find(Connection conn, TaskQuery query) throws SQLException {
+        List<TaskSeries> series = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(query.seriesSql(COLUMNS))) {
+            query.bindSeries(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    series.add(mapResultSetToSeries(rs));
+                }
+            }
+        }
+        return series;
+    }
+
+    /**
+     * Series days that match the query and have no study_tasks row of their own, as
+     * virtual tasks. With paged=true the query's keyset applies and at most limit days
+     * per series are built, so a page never materialises more than it can show.
+     */
+    List<DailyTask> findOccurrences(Connection conn, TaskQuery query, boolean paged) throws SQLException {
+        List<DailyTask> days = new ArrayList<>();
+        int limit = paged ? query.getLimit() : 0;
+        for (SeriesWindow window : findWindows(conn, query)) {
+            TaskSeries series = window.series;
+            int step = query.isDescending() ? -series.getCadenceDays() : series.getCadenceDays();
+            int taken = 0;
+            for (LocalDate date = query.isDescending() ? window.last : window.first;
+                 !date.isBefore(window.first) && !date.isAfter(window.last);
+                 date = date.plusDays(step)) {
+                if (window.overridden.contains(date) || (paged && !query.isAfterKeyset(date, -series.getId()))) continue;
+                days.add(series.occurrence(date));
+                if (limit > 0 && ++taken == limit) break;
+            }
+        }
+        return days;
+    }
+
+    /**
+     * The part of every matching series that falls in the query's date range, with the
+     * days in it that have their own row. count() and aggregate() work from these
+     * without building the days.
+     */
+    List<SeriesWindow> findWindows(Connection conn, TaskQuery query) throws SQLException {
+        List<SeriesWindow> windows = new ArrayList<>();
+        if (!query.includesPending()) return windows;
+        List<TaskSeries> seriesList = find(conn, query);
+        if (seriesList.isEmpty()) return windows;
+        Map<Integer, Set<LocalDate>> overridden = findOverriddenDays(conn, query);
+
+        for (TaskSeries series : seriesList) {
+            LocalDate first = query.getFrom() != null ? series.firstOnOrAfter(query.getFrom()) : series.getStartDate();
+            LocalDate last = query.getTo() != null ? series.lastOnOrBefore(query.getTo()) : series.lastOnOrBefore(series.getEndDate());
+            if (first == null || last == null || first.isAfter(last)) continue;
+            windows.add(new SeriesWindow(series, first, last, overridden.getOrDefault(series.getId(), Set.of())));
+        }
+        return windows;
+    }
+
+    static final class SeriesWindow {
+        final TaskSeries series;
+        final LocalDate first;            // first occurrence in range
+        final LocalDate last;             // last occurrence in range
+        final Set<LocalDate> overridden;  // occurrences in range stored as rows
+
+        SeriesWindow(TaskSeries series, LocalDate first, LocalDate last, Set<LocalDate> overridden) {
+            this.series = series;
+            this.first = first;
+            this.last = last;
+            this.overridden = overridden;
+        }
+
+        // Days in range that only exist as part of the series
+        int count() {
+            int days = series.countBetween(first, last);
+            for (LocalDate day : overridden) {
+                if (!day.isBefore(first) && !day.isAfter(last)) days--;
+            }
+            return days;
+        }
+    }
+
+    private Map<Integer, Set<LocalDate>> findOverriddenDays(Connection conn, TaskQuery query) throws SQLException {
+        Map<Integer, Set<LocalDate>> days = new HashMap<>();
+        try (PreparedStatement stmt = conn.prepareStatement(query.seriesOverridesSql())) {
+            query.bindSeriesOverrides(stmt);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    days.computeIfAbsent(rs.getInt("series_id"), k -> new HashSet<>()).add(rs.getDate("task_date").toLocalDate());
+                }
+            }
+        }
+        return days;
+    }
+
+    // Overrides go with their series (ON DELETE CASCADE)
+    public boolean deleteByUserId(int userId) {
+        String sql = "DELETE FROM study_task_series WHERE user_id = ?";
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setInt(1, userId);
+            int deleted = stmt.executeUpdate();
+            StudyTaskDAO.markWritten();
+            System.out.println("? Deleted " + deleted + " task series for user " + userId);
+            return true;
+        } catch (SQLException e) {
+            System.err.println("Error deleting task series: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private TaskSeries mapResultSetToSeries(ResultSet rs) throws SQLException {
+        TaskSeries series = new TaskSeries();
+        series.setId(rs.getInt("id"));
+        series.setUserId(rs.getInt("user_id"));
+        series.setGoalId(rs.getInt("goal_id"));
+        series.setRepositoryName(rs.getString("repository_name"));
+        series.setStartDate(rs.getDate("start_date").toLocalDate());
+        series.setEndDate(rs.getDate("end_date").toLocalDate());
+        series.setCadenceDays(rs.getInt("cadence_days"));
+        series.setPlannedHours(rs.getInt("planned_hours"));
+        series.setPlannedCommits(rs.getInt("planned_commits"));
+        series.setDescriptionTemplate(rs.getString("description_template"));
+        return series;
+    }
+}
@@ -4,6 +4,8 @@ import db.DBConnection;
 import enums.UserRole;
 import model.User;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
 
 public class UserDAO {
     
@@ -70,6 +72,7 @@ public class UserDAO {
             try {
                 if (rs != null) rs.close();
                 if (stmt != null) stmt.close();
+                if (conn != null) conn.close();
             } catch (SQLException e) {
                 e.printStackTrace();
             }
@@ -108,6 +111,7 @@ public class UserDAO {
         } finally {
             try {
                 if (stmt != null) stmt.close();
+                if (conn != null) conn.close();
             } catch (SQLException e) {
                 e.printStackTrace();
             }
@@ -145,6 +149,25 @@ public class UserDAO {
         return null;
     }
     
+    // Ordered by id, so batch runs visit users in a stable order; null if the users could not be loaded
+    public List<User> findByRole(UserRole role) {
+        List<User> users = new ArrayList<>();
+        String sql = "SELECT * FROM users WHERE role = ? ORDER BY id";
+        try (Connection conn = DBConnection.getInstance().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setString(1, role.name());
+            ResultSet rs = stmt.executeQuery();
+            while (rs.next()) {
+                users.add(mapResultSetToUser(rs));
+            }
+        } catch (SQLException e) {
+            System.err.println("? SQL Error loading " + role + " users: " + e.getMessage());
+            e.printStackTrace();
+            return null;
+        }
+        return users;
+    }
+    
     private User mapResultSetToUser(ResultSet rs) throws SQLException {
         User user = new User();
         user.setId(rs.getInt("id"));
@@ -8,7 +8,7 @@ import java.util.List;
 
 public class DBConnection {
     private static DBConnection instance;
-    private Connection connection;
+    private volatile ConnectionPool pool;
 
     private DBConnection() {
         try {
@@ -29,15 +29,34 @@ public class DBConnection {
         return instance;
     }
 
+    // Each caller gets its own pooled connection; closing it returns it to the pool
     public Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = DriverManager.getConnection(
-                    AppConfig.DB_URL,
-                    AppConfig.DB_USER,
-                    AppConfig.DB_PASSWORD
-            );
+        return getPool().borrow();
+    }
+
+    private ConnectionPool getPool() {
+        if (pool == null) {
+            synchronized (this) {
+                if (pool == null) {
+                    pool = new ConnectionPool(
+                            AppConfig.DB_URL,
+                            AppConfig.DB_USER,
+                            AppConfig.DB_PASSWORD,
+                            AppConfig.DB_POOL_MIN_SIZE,
+                            AppConfig.DB_POOL_MAX_SIZE,
+                            AppConfig.DB_POOL_MAX_WAIT_MS,
+                            AppConfig.DB_POOL_IDLE_TIMEOUT_MS,
+                            AppConfig.DB_POOL_LEAK_THRESHOLD_MS,
+                            AppConfig.DB_POOL_VALIDATION_TIMEOUT_SECONDS
+                    );
+                }
+            }
         }
-        return connection;
+        return pool;
+    }
+
+    public PoolStats getPoolStats() {
+        return getPool().getStats();
     }
 
     public boolean testConnection() {
@@ -50,12 +69,11 @@ public class DBConnection {
     }
 
     public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
+        synchronized (this) {
+            if (pool != null) {
+                pool.shutdown();
+                pool = null;
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
         }
     }
 
@@ -88,16 +106,45 @@ public class DBConnection {
             )
         """;
 
+        // Recurring plans: one row stands for every day from start_date to end_date
+        String createTaskSeriesTable = """
+            CREATE TABLE IF NOT EXISTS study_task_series (
+                id INT AUTO_INCREMENT PRIMARY KEY,
+                user_id INT NOT NULL,
+                goal_id INT NULL,
+                repository_name VARCHAR(255),
+                start_date DATE NOT NULL,
+                end_date DATE NOT NULL,
+                cadence_days INT DEFAULT 1,
+                planned_hours INT DEFAULT 0,
+                planned_commits INT DEFAULT 1,
+                description_template TEXT NOT NULL,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+                FOREIGN KEY (goal_id) REFERENCES goals(id) ON DELETE CASCADE
+            )
+        """;
+
         String createStudyTasksTable = """
             CREATE TABLE IF NOT EXISTS study_tasks (
                 id INT AUTO_INCREMENT PRIMARY KEY,
-                goal_id INT NOT NULL,
+                user_id INT NOT NULL,
+                goal_id INT NULL,
+                repository_name VARCHAR(255),
                 task_date DATE NOT NULL,
+                planned_hours INT DEFAULT 0,
+                actual_hours INT DEFAULT 0,
+                planned_commits INT DEFAULT 1,
+                actual_commits INT DEFAULT 0,
                 description TEXT NOT NULL,
                 required_commit BOOLEAN DEFAULT FALSE,
                 status ENUM('PENDING', 'COMPLETED', 'MISSED') DEFAULT 'PENDING',
+                series_id INT NULL,
+                replanned BOOLEAN DEFAULT FALSE,
                 created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                FOREIGN KEY (goal_id) REFERENCES goals(id) ON DELETE CASCADE
+                FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
+                FOREIGN KEY (goal_id) REFERENCES goals(id) ON DELETE CASCADE,
+                FOREIGN KEY (series_id) REFERENCES study_task_series(id) ON DELETE CASCADE
             )
         """;
 
@@ -114,14 +161,90 @@ public class DBConnection {
             )
         """;
 
-        try (Statement stmt = getConnection().createStatement()) {
+        String createGitHubSyncCursorTable = """
+            CREATE TABLE IF NOT EXISTS github_sync_cursor (
+                id INT AUTO_INCREMENT PRIMARY KEY,
+                user_id INT NOT NULL,
+                repo_name VARCHAR(255) NOT NULL,
+                last_commit_at TIMESTAMP NULL,
+                last_commit_sha VARCHAR(40),
+                last_synced_at TIMESTAMP NULL,
+                UNIQUE KEY unique_user_repo (user_id, repo_name),
+                FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+            )
+        """;
+
+        try (Connection conn = getConnection();
+             Statement stmt = conn.createStatement()) {
             stmt.execute(createUsersTable);
             stmt.execute(createGoalsTable);
+            stmt.execute(createTaskSeriesTable);
             stmt.execute(createStudyTasksTable);
             stmt.execute(createGitHubActivityTable);
+            stmt.execute(createGitHubSyncCursorTable);
+            addColumns(conn);
+            createIndexes(conn);
             System.out.println("Database tables initialized successfully");
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
+
+    // Columns added after the first release, for databases created before them
+    private void addColumns(Connection conn) {
+        String[][] columns = {
+            {"study_tasks", "series_id", "INT NULL"},
+            {"study_tasks", "replanned", "BOOLEAN DEFAULT FALSE"}
+        };
+        String exists = "SELECT 1 FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ? LIMIT 1";
+
+        for (String[] column : columns) {
+            try (PreparedStatement check = conn.prepareStatement(exists)) {
+                check.setString(1, column[0]);
+                check.setString(2, column[1]);
+                try (ResultSet rs = check.executeQuery()) {
+                    if (rs.next()) continue;
+                }
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("ALTER TABLE " + column[0] + " ADD COLUMN " + column[1] + " " + column[2]);
+                    System.out.println("Added column " + column[0] + "." + column[1]);
+                }
+            } catch (SQLException e) {
+                System.err.println("Could not add column " + column[0] + "." + column[1] + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Composite indexes behind StudyTaskDAO.find. MySQL has no CREATE INDEX IF NOT EXISTS,
+    // so existing databases are checked through information_schema first.
+    private void createIndexes(Connection conn) {
+        String[][] indexes = {
+            {"study_tasks", "idx_tasks_user_date", "user_id, task_date, id"},
+            {"study_tasks", "idx_tasks_user_status_date", "user_id, status, task_date, id"},
+            {"study_tasks", "idx_tasks_user_repo_date", "user_id, repository_name, task_date, id"},
+            {"study_tasks", "idx_tasks_goal_date", "goal_id, task_date, id"},
+            {"study_tasks", "idx_tasks_series_date", "series_id, task_date"},
+            {"study_task_series", "idx_series_user_end", "user_id, end_date"}
+        };
+        String exists = "SELECT 1 FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ? LIMIT 1";
+
+        for (String[] index : indexes) {
+            try (PreparedStatement check = conn.prepareStatement(exists)) {
+                check.setString(1, index[0]);
+                check.setString(2, index[1]);
+                try (ResultSet rs = check.executeQuery()) {
+                    if (rs.next()) continue;
+                }
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE INDEX " + index[1] + " ON " + index[0] + " (" + index[2] + ")");
+                    System.out.println("Created index " + index[1]);
+                }
+            } catch (SQLException e) {
+                // Older schemas may lack a column; the queries still work, just slower
+                System.err.println("Could not create index " + index[1] + ": " + e.getMessage());
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package db;
+
+public class PoolStats {
+    private final int active;
+    private final int idle;
+    private final int maxSize;
+    private final long createdCount;
+    private final long borrowCount;
+    private final double avgWaitMillis;
+    private final double maxWaitMillis;
+    private final long validationFailures;
+    private final long evictedCount;
+    private final long leakCount;
+
+    public PoolStats(int active, int idle, int maxSize, long createdCount, long borrowCount,
+                     double avgWaitMillis, double maxWaitMillis, long validationFailures,
+                     long evictedCount, long leakCount) {
+        this.active = active;
+        this.idle = idle;
+        this.maxSize = maxSize;
+        this.createdCount = createdCount;
+        this.borrowCount = borrowCount;
+        this.avgWaitMillis = avgWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.validationFailures = validationFailures;
+        this.evictedCount = evictedCount;
+        this.leakCount = leakCount;
+    }
+
+    public int getActive() { return active; }
+    public int getIdle() { return idle; }
+    public int getMaxSize() { return maxSize; }
+    public long getCreatedCount() { return createdCount; }
+    public long getBorrowCount() { return borrowCount; }
+    public double getAvgWaitMillis() { return avgWaitMillis; }
+    public double getMaxWaitMillis() { return maxWaitMillis; }
+    public long getValidationFailures() { return validationFailures; }
+    public long getEvictedCount() { return evictedCount; }
+    public long getLeakCount() { return leakCount; }
+
+    @Override
+    public String toString() {
+        return String.format("PoolStats{active=%d, idle=%d, max=%d, created=%d, borrows=%d, " +
+                        "avgWait=%.2fms, maxWait=%.2fms, validationFailures=%d, evicted=%d, leaks=%d}",
+                active, idle, maxSize, createdCount, borrowCount, avgWaitMillis, maxWaitMillis,
+                validationFailures, evictedCount, leakCount);
+    }
+}
@@ -0,0 +1,16 @@
+package enums;
+
+public enum RequestPriority {
+    INTERACTIVE("Interactive"),
+    BACKGROUND("Background");
+
+    private final String displayName;
+
+    RequestPriority(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
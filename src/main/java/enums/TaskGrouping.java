@@ -0,0 +1,18 @@
+package enums;
+
+public enum TaskGrouping {
+    STATUS("Status"),
+    REPOSITORY("Repository"),
+    GOAL("Goal"),
+    WEEK("Week");
+
+    private final String displayName;
+
+    TaskGrouping(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
@@ -6,6 +6,7 @@ public class DailyTask {
     private int id;
     private int userId;
     private int goalId;
+    private int seriesId; // TaskSeries this day belongs to, 0 for standalone tasks
     private String repositoryName;
     private LocalDate taskDate;
     private int plannedHours;
@@ -27,6 +28,14 @@ public class DailyTask {
     public int getGoalId() { return goalId; }
     public void setGoalId(int goalId) { this.goalId = goalId; }
     
+    public int getSeriesId() { return seriesId; }
+    public void setSeriesId(int seriesId) { this.seriesId = seriesId; }
+    
+    // A day of a TaskSeries that has no study_tasks row yet
+    public boolean isVirtual() {
+        return seriesId > 0 && id <= 0;
+    }
+    
     public String getRepositoryName() { return repositoryName; }
     public void setRepositoryName(String repositoryName) { this.repositoryName = repositoryName; }
     
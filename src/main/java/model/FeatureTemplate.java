@@ -7,11 +7,21 @@ public class FeatureTemplate {
     private String featureName;
     private List<TaskTemplate> subTasks;
     private double baseHours;
+    private List<String> aliases;
     
     public FeatureTemplate(String featureName, double baseHours) {
         this.featureName = featureName;
         this.baseHours = baseHours;
         this.subTasks = new ArrayList<>();
+        this.aliases = new ArrayList<>();
+    }
+    
+    // Read-only template backed by exact-size arrays (compiled template catalogues)
+    public FeatureTemplate(String featureName, double baseHours, String[] aliases, TaskTemplate[] subTasks) {
+        this.featureName = featureName;
+        this.baseHours = baseHours;
+        this.aliases = List.of(aliases);
+        this.subTasks = List.of(subTasks);
     }
     
     public static class TaskTemplate {
@@ -37,7 +47,15 @@ public class FeatureTemplate {
         subTasks.add(task);
     }
     
+    // Other phrases that name this feature ("sign in" for "Login System")
+    public void addAliases(String... phrases) {
+        for (String phrase : phrases) {
+            aliases.add(phrase);
+        }
+    }
+    
     public List<TaskTemplate> getSubTasks() { return subTasks; }
+    public List<String> getAliases() { return aliases; }
     public String getFeatureName() { return featureName; }
     public double getBaseHours() { return baseHours; }
 }
@@ -0,0 +1,38 @@
+package model;
+
+import java.time.Instant;
+
+public class GitHubSyncCursor {
+    private int id;
+    private int userId;
+    private String repoName;
+    private Instant lastCommitAt;
+    private String lastCommitSha;
+    private Instant lastSyncedAt;
+
+    public GitHubSyncCursor() {}
+
+    public GitHubSyncCursor(int userId, String repoName) {
+        this.userId = userId;
+        this.repoName = repoName;
+    }
+
+    // Getters and Setters
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public int getUserId() { return userId; }
+    public void setUserId(int userId) { this.userId = userId; }
+
+    public String getRepoName() { return repoName; }
+    public void setRepoName(String repoName) { this.repoName = repoName; }
+
+    public Instant getLastCommitAt() { return lastCommitAt; }
+    public void setLastCommitAt(Instant lastCommitAt) { this.lastCommitAt = lastCommitAt; }
+
+    public String getLastCommitSha() { return lastCommitSha; }
+    public void setLastCommitSha(String lastCommitSha) { this.lastCommitSha = lastCommitSha; }
+
+    public Instant getLastSyncedAt() { return lastSyncedAt; }
+    public void setLastSyncedAt(Instant lastSyncedAt) { this.lastSyncedAt = lastSyncedAt; }
+}
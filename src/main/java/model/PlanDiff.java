@@ -0,0 +1,50 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rows a replan changes, written by StudyTaskDAO.applyDiff in one transaction.
+ * Every row that is not listed here stays as it is.
+ */
+public class PlanDiff {
+    private final List<DailyTask> updated = new ArrayList<>();   // stored rows with new planned hours
+    private final List<DailyTask> inserted = new ArrayList<>();  // new rows; seriesId > 0 for a series day's first row
+    private final List<Integer> deleted = new ArrayList<>();     // ids of stored rows
+    private final Map<Integer, LocalDate> seriesEnds = new LinkedHashMap<>(); // series id -> new end date
+    private final List<Integer> carried = new ArrayList<>();     // MISSED rows whose hours were moved
+    private int movedHours;
+    private int unplacedHours;
+    private int suffixDays;
+
+    public List<DailyTask> getUpdated() { return updated; }
+    public List<DailyTask> getInserted() { return inserted; }
+    public List<Integer> getDeleted() { return deleted; }
+    public Map<Integer, LocalDate> getSeriesEnds() { return seriesEnds; }
+    public List<Integer> getCarried() { return carried; }
+
+    public int getMovedHours() { return movedHours; }
+    public void setMovedHours(int movedHours) { this.movedHours = movedHours; }
+
+    // Hours that did not fit under the daily budget before the deadline
+    public int getUnplacedHours() { return unplacedHours; }
+    public void setUnplacedHours(int unplacedHours) { this.unplacedHours = unplacedHours; }
+
+    // Days from the first replanned day to the deadline
+    public int getSuffixDays() { return suffixDays; }
+    public void setSuffixDays(int suffixDays) { this.suffixDays = suffixDays; }
+
+    public boolean isEmpty() {
+        return updated.isEmpty() && inserted.isEmpty() && deleted.isEmpty() && seriesEnds.isEmpty() && carried.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return movedHours + " h moved over " + suffixDays + " days: " + updated.size() + " updated, "
+            + inserted.size() + " inserted, " + deleted.size() + " deleted, " + seriesEnds.size()
+            + " series shortened" + (unplacedHours > 0 ? ", " + unplacedHours + " h did not fit" : "");
+    }
+}
@@ -0,0 +1,74 @@
+package model;
+
+import java.time.LocalDate;
+
+/**
+ * Counts and sums over a group of study tasks, computed in SQL.
+ * key is the group value (status, repository, goal id or week start) or null for totals.
+ */
+public class TaskAggregate {
+    private final String key;
+    private final int taskCount;
+    private final int completedCount;
+    private final int missedCount;
+    private final int pendingCount;
+    private final int plannedCommits;
+    private final int actualCommits;
+    private final int plannedHours;
+    private final int actualHours;
+    private final LocalDate lastCommitDate;
+    
+    public TaskAggregate(String key, int taskCount, int completedCount, int missedCount, int pendingCount,
+                         int plannedCommits, int actualCommits, int plannedHours, int actualHours,
+                         LocalDate lastCommitDate) {
+        this.key = key;
+        this.taskCount = taskCount;
+        this.completedCount = completedCount;
+        this.missedCount = missedCount;
+        this.pendingCount = pendingCount;
+        this.plannedCommits = plannedCommits;
+        this.actualCommits = actualCommits;
+        this.plannedHours = plannedHours;
+        this.actualHours = actualHours;
+        this.lastCommitDate = lastCommitDate;
+    }
+    
+    public static TaskAggregate empty(String key) {
+        return new TaskAggregate(key, 0, 0, 0, 0, 0, 0, 0, 0, null);
+    }
+    
+    // Sums both groups under this key; the later last commit date wins
+    public TaskAggregate plus(TaskAggregate other) {
+        LocalDate lastCommit = lastCommitDate;
+        if (other.lastCommitDate != null && (lastCommit == null || other.lastCommitDate.isAfter(lastCommit))) {
+            lastCommit = other.lastCommitDate;
+        }
+        return new TaskAggregate(key, taskCount + other.taskCount, completedCount + other.completedCount,
+            missedCount + other.missedCount, pendingCount + other.pendingCount,
+            plannedCommits + other.plannedCommits, actualCommits + other.actualCommits,
+            plannedHours + other.plannedHours, actualHours + other.actualHours, lastCommit);
+    }
+    
+    public String getKey() { return key; }
+    public int getTaskCount() { return taskCount; }
+    public int getCompletedCount() { return completedCount; }
+    public int getMissedCount() { return missedCount; }
+    public int getPendingCount() { return pendingCount; }
+    public int getPlannedCommits() { return plannedCommits; }
+    public int getActualCommits() { return actualCommits; }
+    public int getPlannedHours() { return plannedHours; }
+    public int getActualHours() { return actualHours; }
+    
+    // Latest task date with at least one commit, or null
+    public LocalDate getLastCommitDate() { return lastCommitDate; }
+    
+    public double getCompletionRate() {
+        return taskCount > 0 ? (completedCount * 100.0) / taskCount : 0;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("TaskAggregate{key=%s, tasks=%d, completed=%d, missed=%d, pending=%d, commits=%d/%d, hours=%d/%d}",
+            key, taskCount, completedCount, missedCount, pendingCount, actualCommits, plannedCommits, actualHours, plannedHours);
+    }
+}
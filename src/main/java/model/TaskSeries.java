@@ -0,0 +1,118 @@
+package model;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * A recurring study task stored as one study_task_series row instead of one
+ * study_tasks row per day: every cadenceDays days from startDate to endDate
+ * (inclusive), with the same hours, commits and a description template.
+ *
+ * A day only gets its own study_tasks row (an override, linked by series_id) once its
+ * status or commits change. Until then StudyTaskDAO returns it as a virtual DailyTask
+ * built by occurrence(), with id -seriesId.
+ */
+public class TaskSeries {
+    private int id;
+    private int userId;
+    private int goalId;
+    private String repositoryName;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private int cadenceDays = 1;
+    private int plannedHours;
+    private int plannedCommits;
+    private String descriptionTemplate; // {repo}, {day} (1-based occurrence) and {date} are filled in
+    private LocalDate createdAt;
+
+    public TaskSeries() {}
+
+    public int getId() { return id; }
+    public void setId(int id) { this.id = id; }
+
+    public int getUserId() { return userId; }
+    public void setUserId(int userId) { this.userId = userId; }
+
+    public int getGoalId() { return goalId; }
+    public void setGoalId(int goalId) { this.goalId = goalId; }
+
+    public String getRepositoryName() { return repositoryName; }
+    public void setRepositoryName(String repositoryName) { this.repositoryName = repositoryName; }
+
+    public LocalDate getStartDate() { return startDate; }
+    public void setStartDate(LocalDate startDate) { this.startDate = startDate; }
+
+    public LocalDate getEndDate() { return endDate; }
+    public void setEndDate(LocalDate endDate) { this.endDate = endDate; }
+
+    public int getCadenceDays() { return cadenceDays; }
+    public void setCadenceDays(int cadenceDays) { this.cadenceDays = Math.max(1, cadenceDays); }
+
+    public int getPlannedHours() { return plannedHours; }
+    public void setPlannedHours(int plannedHours) { this.plannedHours = plannedHours; }
+
+    public int getPlannedCommits() { return plannedCommits; }
+    public void setPlannedCommits(int plannedCommits) { this.plannedCommits = plannedCommits; }
+
+    public String getDescriptionTemplate() { return descriptionTemplate; }
+    public void setDescriptionTemplate(String descriptionTemplate) { this.descriptionTemplate = descriptionTemplate; }
+
+    public LocalDate getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDate createdAt) { this.createdAt = createdAt; }
+
+    public int getOccurrenceCount() {
+        return endDate.isBefore(startDate) ? 0 : (int) (ChronoUnit.DAYS.between(startDate, endDate) / cadenceDays) + 1;
+    }
+
+    public boolean occursOn(LocalDate date) {
+        return !date.isBefore(startDate) && !date.isAfter(endDate)
+            && ChronoUnit.DAYS.between(startDate, date) % cadenceDays == 0;
+    }
+
+    // First occurrence on or after the date, or null if the series has ended by then
+    public LocalDate firstOnOrAfter(LocalDate date) {
+        if (!date.isAfter(startDate)) return startDate.isAfter(endDate) ? null : startDate;
+        long steps = (ChronoUnit.DAYS.between(startDate, date) + cadenceDays - 1) / cadenceDays;
+        LocalDate first = startDate.plusDays(steps * cadenceDays);
+        return first.isAfter(endDate) ? null : first;
+    }
+
+    // Last occurrence on or before the date, or null if the series has not started by then
+    public LocalDate lastOnOrBefore(LocalDate date) {
+        if (date.isBefore(startDate)) return null;
+        LocalDate last = date.isAfter(endDate) ? endDate : date;
+        return startDate.plusDays(ChronoUnit.DAYS.between(startDate, last) / cadenceDays * cadenceDays);
+    }
+
+    // Occurrences in [from, to], counted from the dates
+    public int countBetween(LocalDate from, LocalDate to) {
+        LocalDate first = firstOnOrAfter(from);
+        LocalDate last = lastOnOrBefore(to);
+        if (first == null || last == null || first.isAfter(last)) return 0;
+        return (int) (ChronoUnit.DAYS.between(first, last) / cadenceDays) + 1;
+    }
+
+    // The day as an unsaved task; the caller must pass a date the series occurs on
+    public DailyTask occurrence(LocalDate date) {
+        DailyTask task = new DailyTask();
+        task.setId(-id);
+        task.setSeriesId(id);
+        task.setUserId(userId);
+        task.setGoalId(goalId);
+        task.setRepositoryName(repositoryName);
+        task.setTaskDate(date);
+        task.setPlannedHours(plannedHours);
+        task.setPlannedCommits(plannedCommits);
+        task.setStatus("PENDING");
+        task.setDescription(describe(date));
+        return task;
+    }
+
+    public String describe(LocalDate date) {
+        long day = ChronoUnit.DAYS.between(startDate, date) / cadenceDays + 1;
+        return descriptionTemplate
+            .replace("{repo}", repositoryName != null ? repositoryName : "")
+            .replace("{day}", String.valueOf(day))
+            .replace("{date}", date.toString());
+    }
+}
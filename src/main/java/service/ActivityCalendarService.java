@@ -0,0 +1,122 @@
+package service;
+
+import dao.StudyTaskDAO;
+import dao.TaskQuery;
+import model.DailyTask;
+import util.ActivityCalendar;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps one ActivityCalendar per user and per (user, repository), built from a
+ * single projected task query. Callers that change task statuses report the
+ * affected days, and only those days are re-read. Any other task write (new
+ * plan, deletion) makes the next read rebuild the calendars from scratch.
+ */
+public class ActivityCalendarService {
+
+    private static final ActivityCalendarService INSTANCE = new ActivityCalendarService();
+
+    private final StudyTaskDAO taskDAO = new StudyTaskDAO();
+    private final Map<Integer, UserCalendars> calendars = new HashMap<>();
+
+    private ActivityCalendarService() {
+    }
+
+    public static ActivityCalendarService getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized ActivityCalendar getUserCalendar(int userId) {
+        return load(userId).user;
+    }
+
+    // Empty calendar if the user has no tasks for this repository
+    public synchronized ActivityCalendar getRepoCalendar(int userId, String repositoryName) {
+        return load(userId).byRepo.computeIfAbsent(repositoryName, k -> new ActivityCalendar());
+    }
+
+    // Re-reads only the given days after their tasks were updated. versionBefore is
+    // StudyTaskDAO.getWriteVersion() taken before the caller's own writes.
+    public synchronized void tasksChanged(int userId, Collection<LocalDate> days, long versionBefore) {
+        UserCalendars current = calendars.get(userId);
+        if (current == null || days.isEmpty()) return;
+        if (current.version != versionBefore) {
+            // Something else was written too; rebuild on the next read
+            calendars.remove(userId);
+            return;
+        }
+
+        LocalDate from = null;
+        LocalDate to = null;
+        for (LocalDate day : days) {
+            if (from == null || day.isBefore(from)) from = day;
+            if (to == null || day.isAfter(to)) to = day;
+        }
+        List<DailyTask> tasks = taskDAO.find(TaskQuery.forUser(userId).from(from).to(to)
+            .columns("repository_name", "status", "actual_commits"));
+
+        for (LocalDate day : days) {
+            current.user.clear(day, ActivityCalendar.Flag.COMPLETED);
+            current.user.clear(day, ActivityCalendar.Flag.MISSED);
+            current.user.clear(day, ActivityCalendar.Flag.COMMIT);
+            for (ActivityCalendar repo : current.byRepo.values()) {
+                repo.clear(day, ActivityCalendar.Flag.COMPLETED);
+                repo.clear(day, ActivityCalendar.Flag.MISSED);
+                repo.clear(day, ActivityCalendar.Flag.COMMIT);
+            }
+        }
+        for (DailyTask task : tasks) {
+            if (days.contains(task.getTaskDate())) {
+                apply(current, task);
+            }
+        }
+        current.version = StudyTaskDAO.getWriteVersion();
+    }
+
+    private UserCalendars load(int userId) {
+        long version = StudyTaskDAO.getWriteVersion();
+        UserCalendars current = calendars.get(userId);
+        if (current != null && current.version == version) {
+            return current;
+        }
+
+        UserCalendars rebuilt = new UserCalendars(version);
+        for (DailyTask task : taskDAO.find(TaskQuery.forUser(userId)
+                .columns("repository_name", "status", "actual_commits"))) {
+            apply(rebuilt, task);
+        }
+        calendars.put(userId, rebuilt);
+        return rebuilt;
+    }
+
+    private void apply(UserCalendars target, DailyTask task) {
+        ActivityCalendar repo = target.byRepo.computeIfAbsent(task.getRepositoryName(), k -> new ActivityCalendar());
+        LocalDate day = task.getTaskDate();
+        if (task.isCompleted()) {
+            target.user.mark(day, ActivityCalendar.Flag.COMPLETED);
+            repo.mark(day, ActivityCalendar.Flag.COMPLETED);
+        } else if (task.isMissed()) {
+            target.user.mark(day, ActivityCalendar.Flag.MISSED);
+            repo.mark(day, ActivityCalendar.Flag.MISSED);
+        }
+        if (task.getActualCommits() > 0) {
+            target.user.mark(day, ActivityCalendar.Flag.COMMIT);
+            repo.mark(day, ActivityCalendar.Flag.COMMIT);
+        }
+    }
+
+    private static class UserCalendars {
+        final ActivityCalendar user = new ActivityCalendar();
+        final Map<String, ActivityCalendar> byRepo = new HashMap<>();
+        long version;
+
+        UserCalendars(long version) {
+            this.version = version;
+        }
+    }
+}
@@ -2,10 +2,33 @@ package service;
 
 import model.*;
 import dao.*;
-import java.util.List;
+import enums.TaskGrouping;
+import util.ActivityCalendar;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
+/**
+ * Progress metrics computed by the database (COUNT/SUM ... GROUP BY), so each
+ * metric transfers one row per group instead of the user's whole task history.
+ * Results are cached until the next task write, so a refresh that asks for
+ * several metrics only queries once per metric.
+ */
 public class AnalysisService {
     
+    private static final int CACHE_SIZE = 64;
+    
+    // Shared so every screen sees the same cached results; entries are tagged with the write version
+    private static final Map<String, CachedResult> CACHE = Collections.synchronizedMap(
+        new LinkedHashMap<String, CachedResult>(CACHE_SIZE, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResult> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+    
     private StudyTaskDAO studyTaskDAO;
     
     public AnalysisService() {
@@ -13,24 +36,73 @@ public class AnalysisService {
     }
     
     public double getCompletionRate(int userId) {
-        List<DailyTask> tasks = studyTaskDAO.findByUserId(userId);
-        if (tasks.isEmpty()) return 0;
-        
-        long completed = tasks.stream().filter(DailyTask::isCompleted).count();
-        return (completed * 100.0) / tasks.size();
+        return getTotals(userId).getCompletionRate();
     }
     
+    // Consecutive days up to today with a completed task
     public int getStreak(int userId) {
-        List<DailyTask> tasks = studyTaskDAO.findByUserId(userId);
-        int streak = 0;
+        return ActivityCalendarService.getInstance().getUserCalendar(userId)
+            .currentStreak(ActivityCalendar.Flag.COMPLETED, LocalDate.now());
+    }
+    
+    public int getLongestStreak(int userId) {
+        return ActivityCalendarService.getInstance().getUserCalendar(userId)
+            .longestStreak(ActivityCalendar.Flag.COMPLETED);
+    }
+    
+    public TaskAggregate getTotals(int userId) {
+        return cached("totals:" + userId, () -> studyTaskDAO.aggregate(TaskQuery.forUser(userId)));
+    }
+    
+    public int getTotalCommits(int userId) {
+        return getTotals(userId).getActualCommits();
+    }
+    
+    public Map<String, Integer> getCountsByStatus(int userId) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (TaskAggregate aggregate : getGrouped(userId, TaskGrouping.STATUS).values()) {
+            counts.put(aggregate.getKey(), aggregate.getTaskCount());
+        }
+        return counts;
+    }
+    
+    public Map<String, TaskAggregate> getStatsByRepository(int userId) {
+        return getGrouped(userId, TaskGrouping.REPOSITORY);
+    }
+    
+    public Map<String, TaskAggregate> getStatsByGoal(int userId) {
+        return getGrouped(userId, TaskGrouping.GOAL);
+    }
+    
+    // Keyed by the Monday of each week (yyyy-MM-dd)
+    public Map<String, TaskAggregate> getStatsByWeek(int userId) {
+        return getGrouped(userId, TaskGrouping.WEEK);
+    }
+    
+    private Map<String, TaskAggregate> getGrouped(int userId, TaskGrouping grouping) {
+        return cached(grouping + ":" + userId,
+            () -> Collections.unmodifiableMap(studyTaskDAO.aggregate(TaskQuery.forUser(userId), grouping)));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private <T> T cached(String key, Supplier<T> query) {
+        long version = StudyTaskDAO.getWriteVersion();
+        CachedResult hit = CACHE.get(key);
+        if (hit != null && hit.version == version) {
+            return (T) hit.value;
+        }
+        T value = query.get();
+        CACHE.put(key, new CachedResult(version, value));
+        return value;
+    }
+    
+    private static class CachedResult {
+        final long version;
+        final Object value;
         
-        for (DailyTask task : tasks) {
-            if (task.isCompleted()) {
-                streak++;
-            } else {
-                break;
-            }
+        CachedResult(long version, Object value) {
+            this.version = version;
+            this.value = value;
         }
-        return streak;
     }
 }
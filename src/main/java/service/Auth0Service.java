@@ -20,7 +20,7 @@ import java.util.Map;
 public class Auth0Service  implements AuthService {
     
     private static final String GITHUB_TOKEN_URL = "https://github.com/login/oauth/access_token";
-    private static final String GITHUB_USER_URL = "https://api.github.com/user";
+    private static final String GITHUB_USER_URL = GitHubApiClient.API_BASE + "/user";
     
     @Override
     public String getAuthorizationUrl() {
@@ -184,7 +184,7 @@ public class Auth0Service  implements AuthService {
             headers.put("Accept", "application/vnd.github.v3+json");
             headers.put("User-Agent", "Smart-Study-Planner");
             
-            String emailResponse = HttpUtil.sendGet("https://api.github.com/user/emails", headers);
+            String emailResponse = HttpUtil.sendGet(GitHubApiClient.API_BASE + "/user/emails", headers);
             org.json.JSONArray emails = new org.json.JSONArray(emailResponse);
             
             for (int i = 0; i < emails.length(); i++) {
@@ -95,7 +95,7 @@ public class DirectGitHubAuthService {
             System.out.println("   Token length: " + accessToken.length() + " chars");
             
             // Get user info
-            String userUrl = "https://api.github.com/user";
+            String userUrl = GitHubApiClient.API_BASE + "/user";
             HttpURLConnection userConn = (HttpURLConnection) new URL(userUrl).openConnection();
             userConn.setRequestMethod("GET");
             userConn.setRequestProperty("Authorization", "Bearer " + accessToken);
@@ -123,7 +123,7 @@ public class DirectGitHubAuthService {
             // Get emails if primary email is private
             if (email.isEmpty()) {
                 try {
-                    String emailsUrl = "https://api.github.com/user/emails";
+                    String emailsUrl = GitHubApiClient.API_BASE + "/user/emails";
                     HttpURLConnection emailsConn = (HttpURLConnection) new URL(emailsUrl).openConnection();
                     emailsConn.setRequestMethod("GET");
                     emailsConn.setRequestProperty("Authorization", "Bearer " + accessToken);
@@ -0,0 +1,127 @@
+package service;
+
+import config.AppConfig;
+import enums.RequestPriority;
+import util.ApiHttpClient;
+import util.ApiResponse;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Single entry point for GitHub REST calls. Adds the standard headers and
+ * sends everything through the shared ApiHttpClient. GET requests are made
+ * conditional against the response cache, so unchanged data comes back as a
+ * 304 and is served from the cache. Every request waits on the rate limiter
+ * first; a rate-limited response is retried once the limiter allows it.
+ */
+public class GitHubApiClient {
+
+    // github.api.baseUrl; a FakeGitHubServer URL in load tests
+    public static final String API_BASE = AppConfig.GITHUB_API_BASE_URL;
+
+    private static final GitHubApiClient INSTANCE = new GitHubApiClient();
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ApiHttpClient http;
+    private final GitHubResponseCache cache;
+    private final GitHubRateLimiter rateLimiter;
+
+    private GitHubApiClient() {
+        this.http = ApiHttpClient.getInstance();
+        this.rateLimiter = new GitHubRateLimiter();
+        this.cache = AppConfig.GITHUB_CACHE_ENABLED
+                ? new GitHubResponseCache(AppConfig.GITHUB_CACHE_MEMORY_MAX_BYTES,
+                        AppConfig.GITHUB_CACHE_DISK_DIR.isEmpty() ? null : new File(AppConfig.GITHUB_CACHE_DISK_DIR),
+                        AppConfig.GITHUB_CACHE_DISK_MAX_BYTES)
+                : null;
+    }
+
+    public static GitHubApiClient getInstance() {
+        return INSTANCE;
+    }
+
+    // Accepts either a path ("/user/repos?...") or an absolute URL (e.g. from a Link header)
+    public ApiResponse get(String pathOrUrl, String accessToken) throws IOException {
+        return get(pathOrUrl, accessToken, RequestPriority.INTERACTIVE);
+    }
+
+    public ApiResponse get(String pathOrUrl, String accessToken, RequestPriority priority) throws IOException {
+        String url = resolve(pathOrUrl);
+        Map<String, String> headers = headers(accessToken);
+        if (cache == null) {
+            return send(url, headers, accessToken, priority);
+        }
+
+        String key = GitHubResponseCache.key(url, accessToken);
+        GitHubResponseCache.Entry cached = cache.lookup(key);
+        if (cached != null) {
+            if (cached.getEtag() != null) {
+                headers.put("If-None-Match", cached.getEtag());
+            }
+            if (cached.getLastModified() != null) {
+                headers.put("If-Modified-Since", cached.getLastModified());
+            }
+        }
+
+        ApiResponse response = send(url, headers, accessToken, priority);
+        if (response.getStatusCode() == 304 && cached != null) {
+            cache.recordNotModified();
+            return cached.toResponse();
+        }
+        if (response.getStatusCode() == 200) {
+            cache.store(key, response);
+        }
+        return response;
+    }
+
+    private ApiResponse send(String url, Map<String, String> headers, String accessToken,
+                             RequestPriority priority) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            rateLimiter.acquire(accessToken, priority);
+            ApiResponse response = http.get(url, headers);
+            if (!rateLimiter.onResponse(accessToken, response)) {
+                return response;
+            }
+            if (attempt >= MAX_ATTEMPTS) {
+                GitHubRateLimiter.Budget budget = rateLimiter.getBudget(accessToken);
+                Instant retryAt = budget.getBlockedUntil() != null ? budget.getBlockedUntil() : budget.getResetAt();
+                throw new GitHubRateLimitException("GitHub API rate limit exceeded. Please try again later.", retryAt);
+            }
+        }
+    }
+
+    // Remaining budget for this token, so callers can throttle themselves
+    public GitHubRateLimiter.Budget getRateLimit(String accessToken) {
+        return rateLimiter.getBudget(accessToken);
+    }
+
+    public String resolve(String pathOrUrl) {
+        return pathOrUrl.startsWith("http") ? pathOrUrl : API_BASE + pathOrUrl;
+    }
+
+    // Null when the cache is disabled
+    public GitHubResponseCache getCache() {
+        return cache;
+    }
+
+    public void logStats() {
+        http.logStats();
+        if (cache != null) {
+            System.out.println("?? " + cache);
+        }
+    }
+
+    private Map<String, String> headers(String accessToken) {
+        Map<String, String> headers = new HashMap<>();
+        if (accessToken != null && !accessToken.isEmpty()) {
+            headers.put("Authorization", "Bearer " + accessToken);
+        }
+        headers.put("Accept", "application/vnd.github.v3+json");
+        headers.put("User-Agent", "Smart-Study-Planner");
+        return headers;
+    }
+}
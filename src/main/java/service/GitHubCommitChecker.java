@@ -2,81 +2,297 @@ package service;
 
 import model.User;
 import model.DailyTask;
+import model.GitHubSyncCursor;
+import model.StudyPlan;
+import dao.GitHubSyncCursorDAO;
 import dao.StudyTaskDAO;
+import dao.TaskQuery;
+import config.AppConfig;
+import enums.RequestPriority;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
+import util.ApiResponse;
+import util.GitHubListingParser;
 
 public class GitHubCommitChecker {
     
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>;\\s*rel=\"next\"");
+    
     private GitHubOAuthService gitHubService;
     private StudyTaskDAO taskDAO;
+    private GitHubSyncCursorDAO cursorDAO;
+    private GitHubApiClient apiClient;
+    private ITPlanGenerator planGenerator;
+    private boolean incrementalSync;
+    
+    // Counters for the last run
+    private int requestsMade;
+    private int requestsSaved;
+    private int reposSkipped;
+    private int reposFailed;
+    private Set<LocalDate> changedDays = new HashSet<>();
     
     public GitHubCommitChecker() {
+        this(AppConfig.GITHUB_INCREMENTAL_SYNC);
+    }
+    
+    public GitHubCommitChecker(boolean incrementalSync) {
         this.gitHubService = new GitHubOAuthService();
         this.taskDAO = new StudyTaskDAO();
+        this.cursorDAO = new GitHubSyncCursorDAO();
+        this.apiClient = GitHubApiClient.getInstance();
+        this.planGenerator = new ITPlanGenerator();
+        this.incrementalSync = incrementalSync;
+    }
+    
+    /**
+     * Receives per-repository progress from checkAndUpdateAllTasks. Called on the
+     * checking thread; isCancelled() is polled between repositories.
+     */
+    public interface ProgressListener {
+        void verificationStarted(int repoCount);
+        
+        // Statuses (and the activity calendars) for repoName are up to date when this is called
+        void repoChecked(String repoName, int checked, int repoCount);
+        
+        boolean isCancelled();
     }
     
     public void checkAndUpdateAllTasks(User user) {
-        List<DailyTask> tasks = taskDAO.findByUserId(user.getId());
+        checkAndUpdateAllTasks(user, null);
+    }
+    
+    public void checkAndUpdateAllTasks(User user, ProgressListener listener) {
+        LocalDate today = LocalDate.now();
         
-        System.out.println("?? Checking GitHub commits for " + tasks.size() + " tasks...");
+        // Only tasks up to today that are not completed yet need verification;
+        // future and completed tasks are just counted for the summary. A MISSED day whose
+        // hours a replan already moved into later days stays MISSED, or the work would count twice.
+        List<DailyTask> tasks = taskDAO.find(TaskQuery.forUser(user.getId())
+            .to(today)
+            .status("PENDING", "MISSED")
+            .replanned(false));
+        int completed = taskDAO.count(TaskQuery.forUser(user.getId()).status("COMPLETED"));
+        int pending = taskDAO.count(TaskQuery.forUser(user.getId()).from(today.plusDays(1)).status("PENDING", "MISSED"));
+        int missed = taskDAO.count(TaskQuery.forUser(user.getId()).to(today).status("MISSED").replanned(true));
+        requestsMade = 0;
+        reposSkipped = 0;
+        reposFailed = 0;
         
-        int completed = 0;
-        int missed = 0;
-        int pending = 0;
+        System.out.println("?? Checking GitHub commits for " + tasks.size() + " tasks...");
         
+        // Group the tasks that still need verification by repository
+        Map<String, List<DailyTask>> tasksByRepo = new LinkedHashMap<>();
+        int tasksToVerify = tasks.size();
         for (DailyTask task : tasks) {
-            // Skip future tasks
-            if (task.getTaskDate().isAfter(LocalDate.now())) {
-                pending++;
-                continue;
+            tasksByRepo.computeIfAbsent(task.getRepositoryName(), k -> new ArrayList<>()).add(task);
+        }
+        if (listener != null) {
+            listener.verificationStarted(tasksByRepo.size());
+        }
+        
+        int checked = 0;
+        boolean cancelled = false;
+        for (Map.Entry<String, List<DailyTask>> entry : tasksByRepo.entrySet()) {
+            String repoName = entry.getKey();
+            List<DailyTask> repoTasks = entry.getValue();
+            
+            if (listener != null && listener.isCancelled()) {
+                System.out.println("?? Commit check cancelled after " + checked + " of " + tasksByRepo.size() + " repositories");
+                cancelled = true;
+                break;
             }
+            checked++;
+            long versionBefore = StudyTaskDAO.getWriteVersion();
+            changedDays = new HashSet<>();
             
-            // Get actual commits from GitHub
-            int actualCommits = getCommitsForDate(user, task.getRepositoryName(), task.getTaskDate());
+            // Leave the rest of the budget to interactive calls; remaining repos stay pending
+            GitHubRateLimiter.Budget budget = apiClient.getRateLimit(user.getAccessToken());
+            if (budget.isBackgroundExhausted()) {
+                System.out.println("?? GitHub rate limit budget low (" + budget + "), skipping " + repoName);
+                pending += repoTasks.size();
+                reposSkipped++;
+                notifyChecked(listener, repoName, checked, tasksByRepo.size());
+                continue;
+            }
             
-            // Update task with actual commits
-            task.setActualCommits(actualCommits);
+            GitHubSyncCursor cursor = incrementalSync ? cursorDAO.findByUserAndRepo(user.getId(), repoName) : null;
+            boolean fromCursor = cursor != null && cursor.getLastCommitAt() != null;
             
-            // Determine status based on actual commits
-            String oldStatus = task.getStatus();
-            String newStatus;
+            // The scan restarts at the start of the cursor's day and every day from there
+            // gets its full count, so a rerun (or a second checker) writes the same values
+            LocalDate scanFrom = null;
+            if (fromCursor) {
+                LocalDate cursorDay = LocalDate.ofInstant(cursor.getLastCommitAt(), ZoneOffset.UTC);
+                scanFrom = cursorDay.isAfter(today) ? today : cursorDay;
+            }
+            if (fromCursor && hasUncheckedDayBefore(repoTasks, scanFrom)) {
+                // A plan regenerated for this repository starts before the cursor; scan it in full
+                System.out.println("?? New tasks of " + repoName + " start before the sync cursor, rescanning");
+                fromCursor = false;
+            }
             
-            if (actualCommits >= task.getPlannedCommits()) {
-                newStatus = "COMPLETED";
-                completed++;
-                System.out.println("? Task COMPLETED: " + task.getRepositoryName() + " on " + task.getTaskDate() + " - Commits: " + actualCommits);
-            } else if (task.getTaskDate().isBefore(LocalDate.now())) {
-                newStatus = "MISSED";
-                missed++;
-                System.out.println("? Task MISSED: " + task.getRepositoryName() + " on " + task.getTaskDate() + " - Commits: " + actualCommits + " (needed " + task.getPlannedCommits() + ")");
+            CommitScan scan;
+            if (fromCursor) {
+                scan = fetchCommits(user, repoName, scanFrom.atStartOfDay(ZoneOffset.UTC).toInstant(), null);
             } else {
-                newStatus = "PENDING";
-                pending++;
+                LocalDate from = repoTasks.get(0).getTaskDate();
+                LocalDate to = from;
+                for (DailyTask task : repoTasks) {
+                    if (task.getTaskDate().isBefore(from)) from = task.getTaskDate();
+                    if (task.getTaskDate().isAfter(to)) to = task.getTaskDate();
+                }
+                // One paginated fetch covers every unverified day of this repository.
+                // When a cursor will be stored the scan runs up to now, so nothing falls between runs.
+                Instant until = incrementalSync ? null : to.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant().minusSeconds(1);
+                scan = fetchCommits(user, repoName, from.atStartOfDay(ZoneOffset.UTC).toInstant(), until);
             }
             
-            // Only update if status changed
-            if (!newStatus.equals(oldStatus)) {
-                task.setStatus(newStatus);
-                taskDAO.update(task);
-                System.out.println("   Status updated from " + oldStatus + " to " + newStatus);
+            if (scan == null) {
+                // Leave statuses alone when GitHub could not be reached
+                pending += repoTasks.size();
+                reposFailed++;
+                notifyChecked(listener, repoName, checked, tasksByRepo.size());
+                continue;
+            }
+            
+            boolean newlyMissed = false;
+            for (DailyTask task : repoTasks) {
+                int commits = scan.commitsPerDay.getOrDefault(task.getTaskDate(), 0);
+                
+                if (fromCursor && task.getTaskDate().isBefore(scanFrom)) {
+                    // Days before the cursor's day are settled and keep their status
+                    if (task.isMissed()) {
+                        missed++;
+                        continue;
+                    }
+                    commits = task.getActualCommits();
+                }
+                boolean wasMissed = task.isMissed();
+                applyCommits(task, commits, today);
+                newlyMissed |= !wasMissed && task.isMissed();
+                
+                if (task.isCompleted()) completed++;
+                else if (task.isMissed()) missed++;
+                else pending++;
             }
+            
+            if (incrementalSync) {
+                GitHubSyncCursor updated = new GitHubSyncCursor(user.getId(), repoName);
+                if (scan.newestCommitAt != null) {
+                    updated.setLastCommitAt(scan.newestCommitAt);
+                    updated.setLastCommitSha(scan.newestCommitSha);
+                } else if (fromCursor) {
+                    updated.setLastCommitAt(cursor.getLastCommitAt());
+                    updated.setLastCommitSha(cursor.getLastCommitSha());
+                }
+                updated.setLastSyncedAt(Instant.now());
+                cursorDAO.saveOrUpdate(updated);
+            }
+            
+            // Only the days whose tasks changed are re-read into the activity calendars
+            ActivityCalendarService.getInstance().tasksChanged(user.getId(), changedDays, versionBefore);
+            
+            // Move the hours of the newly missed days into the rest of this repository's plan
+            if (newlyMissed && AppConfig.PLAN_REPLAN_ON_MISSED) {
+                StudyPlan plan = new StudyPlan();
+                plan.setUserId(user.getId());
+                plan.setRepositoryName(repoName);
+                planGenerator.adjustPlan(plan, true);
+            }
+            notifyChecked(listener, repoName, checked, tasksByRepo.size());
         }
         
+        // The old path made one request per task to verify
+        requestsSaved = Math.max(0, tasksToVerify - requestsMade);
+        
         System.out.println("?? Summary: " + completed + " completed, " + missed + " missed, " + pending + " pending");
+        System.out.println("?? GitHub requests: " + requestsMade + " made, " + requestsSaved + " saved for " +
+                tasksToVerify + " tasks across " + tasksByRepo.size() + " repositories" +
+                (incrementalSync ? " (incremental)" : "") + (cancelled ? ", cancelled" : "") +
+                (reposSkipped + reposFailed > 0 ? ", " + reposSkipped + " skipped, " + reposFailed + " failed" : ""));
+        apiClient.logStats();
+        System.out.println("?? " + apiClient.getRateLimit(user.getAccessToken()));
         System.out.println("? GitHub commit check completed");
     }
     
-    private int getCommitsForDate(User user, String repoFullName, LocalDate date) {
+    // A PENDING task dated before the cursor's day was never checked against this cursor
+    private boolean hasUncheckedDayBefore(List<DailyTask> tasks, LocalDate scanFrom) {
+        for (DailyTask task : tasks) {
+            if (task.isPending() && task.getTaskDate().isBefore(scanFrom)) return true;
+        }
+        return false;
+    }
+    
+    private void notifyChecked(ProgressListener listener, String repoName, int checked, int repoCount) {
+        if (listener != null) {
+            listener.repoChecked(repoName, checked, repoCount);
+        }
+    }
+    
+    public int getRequestsMade() {
+        return requestsMade;
+    }
+    
+    public int getRequestsSaved() {
+        return requestsSaved;
+    }
+    
+    // Repositories of the last run left unchecked because the rate limit budget was low
+    public int getReposSkipped() {
+        return reposSkipped;
+    }
+    
+    // Repositories of the last run whose commits could not be fetched (GitHub or network error)
+    public int getReposFailed() {
+        return reposFailed;
+    }
+    
+    private void applyCommits(DailyTask task, int actualCommits, LocalDate today) {
+        int oldCommits = task.getActualCommits();
+        String oldStatus = task.getStatus();
+        String newStatus;
+        
+        // Determine status based on actual commits
+        if (actualCommits >= task.getPlannedCommits()) {
+            newStatus = "COMPLETED";
+            System.out.println("? Task COMPLETED: " + task.getRepositoryName() + " on " + task.getTaskDate() + " - Commits: " + actualCommits);
+        } else if (task.getTaskDate().isBefore(today)) {
+            newStatus = "MISSED";
+            System.out.println("? Task MISSED: " + task.getRepositoryName() + " on " + task.getTaskDate() + " - Commits: " + actualCommits + " (needed " + task.getPlannedCommits() + ")");
+        } else {
+            newStatus = "PENDING";
+        }
+        
+        task.setActualCommits(actualCommits);
+        
+        // Only write when something changed
+        if (!newStatus.equals(oldStatus) || actualCommits != oldCommits) {
+            task.setStatus(newStatus);
+            taskDAO.update(task);
+            changedDays.add(task.getTaskDate());
+            if (!newStatus.equals(oldStatus)) {
+                System.out.println("   Status updated from " + oldStatus + " to " + newStatus);
+            }
+        }
+    }
+    
+    // Fetches every commit in [since, until] (until may be null for "up to now") and buckets
+    // them by UTC commit date. Returns null if the fetch failed.
+    private CommitScan fetchCommits(User user, String repoFullName, Instant since, Instant until) {
+        CommitScan scan = new CommitScan();
         try {
             String accessToken = user.getAccessToken();
             
@@ -84,57 +300,71 @@ public class GitHubCommitChecker {
             String[] parts = repoFullName.split("/");
             if (parts.length < 2) {
                 System.err.println("? Invalid repository format: " + repoFullName);
-                return 0;
+                return scan;
             }
             
             String owner = parts[0];
             String repo = parts[1];
             
-            // Format date for GitHub API (YYYY-MM-DD)
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-            String dateStr = date.format(formatter);
-            
-            // GitHub API: get commits for specific date
-            String urlStr = String.format("https://api.github.com/repos/%s/%s/commits?since=%sT00:00:00Z&until=%sT23:59:59Z&per_page=100",
-                owner, repo, dateStr, dateStr);
-            
-            System.out.println("?? Checking: " + owner + "/" + repo + " on " + dateStr);
-            
-            URL url = new URL(urlStr);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
-            conn.setRequestProperty("Authorization", "token " + accessToken);
-            conn.setRequestProperty("Accept", "application/vnd.github.v3+json");
-            conn.setConnectTimeout(10000);
-            conn.setReadTimeout(10000);
-            
-            int responseCode = conn.getResponseCode();
-            if (responseCode != 200) {
-                if (responseCode == 409) {
-                    // Empty repository
-                    System.out.println("?? Repository is empty: " + owner + "/" + repo);
-                    return 0;
-                }
-                System.err.println("? GitHub API error: " + responseCode + " for " + owner + "/" + repo);
-                return 0;
+            String urlStr = String.format("/repos/%s/%s/commits?since=%s&per_page=100",
+                owner, repo, since);
+            if (until != null) {
+                urlStr += "&until=" + until;
             }
             
-            BufferedReader reader = new BufferedReader(
-                new InputStreamReader(conn.getInputStream()));
-            StringBuilder response = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
+            System.out.println("?? Checking: " + owner + "/" + repo + " since " + since + (until != null ? " until " + until : ""));
+            
+            while (urlStr != null) {
+                requestsMade++;
+                ApiResponse response = apiClient.get(urlStr, accessToken, RequestPriority.BACKGROUND);
+                int responseCode = response.getStatusCode();
+                if (responseCode != 200) {
+                    if (responseCode == 409) {
+                        // Empty repository
+                        System.out.println("?? Repository is empty: " + owner + "/" + repo);
+                        return scan;
+                    }
+                    System.err.println("? GitHub API error: " + responseCode + " for " + owner + "/" + repo);
+                    return null;
+                }
+                
+                // Streams only sha and commit.committer.date out of the page
+                GitHubListingParser.Commits commits = GitHubListingParser.parseCommits(response.getBody(), true);
+                for (int i = 0; i < commits.size(); i++) {
+                    scan.add(commits.sha(i), commits.epochSecond(i));
+                }
+                
+                urlStr = nextPageUrl(response.header("Link"));
             }
-            reader.close();
             
-            JSONArray commits = new JSONArray(response.toString());
-            System.out.println("   Found " + commits.length() + " commits");
-            return commits.length();
+            System.out.println("   Found " + scan.total + " commits on " + scan.commitsPerDay.size() + " days");
+            return scan;
             
         } catch (Exception e) {
-            System.err.println("? Error checking commits for " + repoFullName + " on " + date + ": " + e.getMessage());
-            return 0;
+            System.err.println("? Error checking commits for " + repoFullName + " since " + since + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
+    private String nextPageUrl(String linkHeader) {
+        if (linkHeader == null) return null;
+        Matcher matcher = NEXT_LINK.matcher(linkHeader);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+    
+    private static class CommitScan {
+        final Map<LocalDate, Integer> commitsPerDay = new HashMap<>();
+        int total;
+        Instant newestCommitAt;
+        String newestCommitSha;
+        
+        void add(String sha, long committedAtEpochSecond) {
+            commitsPerDay.merge(LocalDate.ofEpochDay(Math.floorDiv(committedAtEpochSecond, 86_400L)), 1, Integer::sum);
+            total++;
+            if (newestCommitAt == null || committedAtEpochSecond > newestCommitAt.getEpochSecond()) {
+                newestCommitAt = Instant.ofEpochSecond(committedAtEpochSecond);
+                newestCommitSha = sha;
+            }
         }
     }
 }
@@ -1,18 +1,16 @@
 package service;
 
 import dao.UserDAO;
+import enums.RequestPriority;
 import enums.UserRole;
 import model.User;
 import org.json.JSONObject;
 import org.json.JSONArray;
+import util.ApiHttpClient;
+import util.ApiResponse;
+import util.GitHubListingParser;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -90,85 +88,40 @@ public class GitHubOAuthService {
     }
     
     private String getAccessToken(String code) throws Exception {
-        URL url = new URL("https://github.com/login/oauth/access_token");
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("POST");
-        conn.setRequestProperty("Accept", "application/json");
-        conn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-        conn.setDoOutput(true);
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Accept", "application/json");
+        headers.put("Content-Type", "application/x-www-form-urlencoded");
         
         String body = "client_id=" + URLEncoder.encode(CLIENT_ID, "UTF-8") +
                 "&client_secret=" + URLEncoder.encode(CLIENT_SECRET, "UTF-8") +
                 "&code=" + URLEncoder.encode(code, "UTF-8") +
                 "&redirect_uri=" + URLEncoder.encode(REDIRECT_URI, "UTF-8");
         
-        try (OutputStream os = conn.getOutputStream()) {
-            os.write(body.getBytes(StandardCharsets.UTF_8));
+        ApiResponse response = ApiHttpClient.getInstance()
+                .post("https://github.com/login/oauth/access_token", headers, body);
+        if (response.getStatusCode() != 200) {
+            throw new Exception("Token exchange failed: " + response.getStatusCode());
         }
         
-        int responseCode = conn.getResponseCode();
-        if (responseCode != 200) {
-            throw new Exception("Token exchange failed: " + responseCode);
-        }
-        
-        BufferedReader reader = new BufferedReader(
-                new InputStreamReader(conn.getInputStream()));
-        StringBuilder response = new StringBuilder();
-        String line;
-        while ((line = reader.readLine()) != null) {
-            response.append(line);
-        }
-        reader.close();
-        
-        return new JSONObject(response.toString()).getString("access_token");
+        return new JSONObject(response.bodyAsString()).getString("access_token");
     }
     
     private JSONObject getUserInfo(String accessToken) throws Exception {
-        URL url = new URL("https://api.github.com/user");
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("GET");
-        conn.setRequestProperty("Authorization", "token " + accessToken);
-        conn.setRequestProperty("Accept", "application/json");
-        
-        int responseCode = conn.getResponseCode();
-        if (responseCode != 200) {
-            throw new Exception("Failed to get user info: " + responseCode);
+        ApiResponse response = GitHubApiClient.getInstance().get("/user", accessToken);
+        if (response.getStatusCode() != 200) {
+            throw new Exception("Failed to get user info: " + response.getStatusCode());
         }
         
-        BufferedReader reader = new BufferedReader(
-                new InputStreamReader(conn.getInputStream()));
-        StringBuilder response = new StringBuilder();
-        String line;
-        while ((line = reader.readLine()) != null) {
-            response.append(line);
-        }
-        reader.close();
-        
-        return new JSONObject(response.toString());
+        return new JSONObject(response.bodyAsString());
     }
     
     private String getUserEmail(String accessToken) throws Exception {
-        URL url = new URL("https://api.github.com/user/emails");
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod("GET");
-        conn.setRequestProperty("Authorization", "token " + accessToken);
-        conn.setRequestProperty("Accept", "application/json");
-        
-        int responseCode = conn.getResponseCode();
-        if (responseCode != 200) {
+        ApiResponse response = GitHubApiClient.getInstance().get("/user/emails", accessToken);
+        if (response.getStatusCode() != 200) {
             return "github-user@users.noreply.github.com";
         }
         
-        BufferedReader reader = new BufferedReader(
-                new InputStreamReader(conn.getInputStream()));
-        StringBuilder response = new StringBuilder();
-        String line;
-        while ((line = reader.readLine()) != null) {
-            response.append(line);
-        }
-        reader.close();
-        
-        JSONArray emails = new JSONArray(response.toString());
+        JSONArray emails = new JSONArray(response.bodyAsString());
         for (int i = 0; i < emails.length(); i++) {
             JSONObject emailObj = emails.getJSONObject(i);
             if (emailObj.getBoolean("primary")) {
@@ -179,41 +132,18 @@ public class GitHubOAuthService {
     }
     
     public List<Map<String, String>> getRepositories(String accessToken) {
+        return getRepositories(accessToken, null);
+    }
+    
+    // All pages of /user/repos; listener (may be null) receives each page as it arrives
+    public List<Map<String, String>> getRepositories(String accessToken,
+                                                     GitHubPager.PageListener<Map<String, String>> listener) {
         List<Map<String, String>> repos = new ArrayList<>();
         try {
-            URL url = new URL("https://api.github.com/user/repos?sort=updated&per_page=100");
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
-            conn.setRequestProperty("Authorization", "token " + accessToken);
-            conn.setRequestProperty("Accept", "application/json");
-            
-            int responseCode = conn.getResponseCode();
-            if (responseCode != 200) {
-                System.err.println("Failed to get repos: " + responseCode);
-                return repos;
-            }
-            
-            BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(conn.getInputStream()));
-            StringBuilder response = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
-            }
-            reader.close();
-            
-            JSONArray reposArray = new JSONArray(response.toString());
-            for (int i = 0; i < reposArray.length(); i++) {
-                JSONObject repo = reposArray.getJSONObject(i);
-                Map<String, String> repoInfo = new HashMap<>();
-                repoInfo.put("name", repo.getString("full_name"));
-                repoInfo.put("private", String.valueOf(repo.getBoolean("private")));
-                repoInfo.put("updated_at", repo.getString("updated_at"));
-                repoInfo.put("html_url", repo.getString("html_url"));
-                repoInfo.put("description", repo.optString("description", "No description"));
-                repos.add(repoInfo);
-            }
+            repos = new GitHubPager().fetchAll("/user/repos?sort=updated&per_page=100", accessToken,
+                    RequestPriority.INTERACTIVE, GitHubListingParser::parseRepositories, listener);
             System.out.println("?? Loaded " + repos.size() + " repositories");
+            GitHubApiClient.getInstance().logStats();
             
         } catch (Exception e) {
             System.err.println("Error fetching repos: " + e.getMessage());
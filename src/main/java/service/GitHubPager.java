@@ -0,0 +1,178 @@
+package service;
+
+import config.AppConfig;
+import enums.RequestPriority;
+import util.ApiResponse;
+import util.GitHubListingParser;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads every page of a GitHub listing.
+ *
+ * The first page is fetched on its own. If its Link header names a rel="last" page,
+ * pages 2..last are fetched together on a small bounded pool (github.pages.maxConcurrency).
+ * GitHub leaves rel="last" out of some listings; then the rel="next" links are followed
+ * one at a time. Each page goes to the listener as soon as it is parsed, so pages may
+ * arrive out of order. The returned list is always in page order.
+ */
+public class GitHubPager {
+
+    private static final Pattern NEXT_LINK = Pattern.compile("<([^>]+)>;\\s*rel=\"next\"");
+    private static final Pattern LAST_LINK = Pattern.compile("<([^>]+)>;\\s*rel=\"last\"");
+    private static final Pattern PAGE_PARAM = Pattern.compile("([?&]page=)(\\d+)");
+
+    public interface PageParser<T> {
+        List<T> parse(byte[] body) throws IOException;
+    }
+
+    /**
+     * Called on the fetching thread, one page at a time. lastPage is 0 while the
+     * number of pages is unknown (next-link walking).
+     */
+    public interface PageListener<T> {
+        void pageLoaded(int page, int lastPage, List<T> items);
+    }
+
+    private final GitHubApiClient apiClient;
+    private final int maxConcurrency;
+    private final int maxPages;
+
+    public GitHubPager() {
+        this(GitHubApiClient.getInstance(), AppConfig.GITHUB_PAGES_MAX_CONCURRENCY, AppConfig.GITHUB_PAGES_MAX);
+    }
+
+    public GitHubPager(GitHubApiClient apiClient, int maxConcurrency, int maxPages) {
+        this.apiClient = apiClient;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.maxPages = Math.max(1, maxPages);
+    }
+
+    public <T> List<T> fetchAll(String firstPage, String accessToken, RequestPriority priority,
+                                PageParser<T> parser, PageListener<T> listener) throws IOException {
+        ApiResponse first = fetch(firstPage, accessToken, priority);
+        String link = first.header("Link");
+        String lastUrl = find(LAST_LINK, link);
+        int lastPage = lastUrl != null ? pageNumber(lastUrl) : 0;
+        if (lastPage > maxPages) {
+            System.err.println("? " + firstPage + " has " + lastPage + " pages; reading the first " + maxPages);
+            lastPage = maxPages;
+        }
+
+        List<T> items = parser.parse(first.getBody());
+        notify(listener, 1, lastPage, items);
+
+        if (lastPage > 1) {
+            return fetchRemaining(items, lastUrl, lastPage, accessToken, priority, parser, listener);
+        }
+
+        // No rel="last": follow rel="next" sequentially
+        List<T> all = new ArrayList<>(items);
+        String next = find(NEXT_LINK, link);
+        for (int page = 2; next != null && page <= maxPages; page++) {
+            ApiResponse response = fetch(next, accessToken, priority);
+            List<T> pageItems = parser.parse(response.getBody());
+            all.addAll(pageItems);
+            notify(listener, page, 0, pageItems);
+            next = find(NEXT_LINK, response.header("Link"));
+        }
+        return all;
+    }
+
+    private <T> List<T> fetchRemaining(List<T> firstItems, String lastUrl, int lastPage, String accessToken,
+                                       RequestPriority priority, PageParser<T> parser,
+                                       PageListener<T> listener) throws IOException {
+        int threads = Math.min(maxConcurrency, lastPage - 1);
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "github-pages-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            CompletionService<Page<T>> completion = new ExecutorCompletionService<>(executor);
+            for (int page = 2; page <= lastPage; page++) {
+                int number = page;
+                String url = withPage(lastUrl, number);
+                completion.submit(() -> new Page<>(number, parser.parse(fetch(url, accessToken, priority).getBody())));
+            }
+
+            TreeMap<Integer, List<T>> pages = new TreeMap<>();
+            pages.put(1, firstItems);
+            for (int i = 2; i <= lastPage; i++) {
+                Page<T> page = completion.take().get();
+                pages.put(page.number, page.items);
+                notify(listener, page.number, lastPage, page.items);
+            }
+
+            List<T> all = new ArrayList<>();
+            for (List<T> pageItems : pages.values()) {
+                all.addAll(pageItems);
+            }
+            return all;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) throw (IOException) cause;
+            throw new IOException("Failed to read page of " + lastUrl + ": " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading pages of " + lastUrl);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private ApiResponse fetch(String pathOrUrl, String accessToken, RequestPriority priority) throws IOException {
+        ApiResponse response = apiClient.get(pathOrUrl, accessToken, priority);
+        if (!response.isSuccess()) {
+            String message = GitHubListingParser.errorMessage(response.getBody());
+            throw new IOException("GitHub API error " + response.getStatusCode() + " for " + pathOrUrl +
+                    (message != null ? ": " + message : ""));
+        }
+        return response;
+    }
+
+    private static <T> void notify(PageListener<T> listener, int page, int lastPage, List<T> items) {
+        if (listener != null) {
+            listener.pageLoaded(page, lastPage, items);
+        }
+    }
+
+    private static String find(Pattern pattern, String linkHeader) {
+        if (linkHeader == null) return null;
+        Matcher matcher = pattern.matcher(linkHeader);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static int pageNumber(String url) {
+        Matcher matcher = PAGE_PARAM.matcher(url);
+        return matcher.find() ? Integer.parseInt(matcher.group(2)) : 0;
+    }
+
+    private static String withPage(String url, int page) {
+        return PAGE_PARAM.matcher(url).replaceFirst("$1" + page);
+    }
+
+    private static class Page<T> {
+        final int number;
+        final List<T> items;
+
+        Page(int number, List<T> items) {
+            this.number = number;
+            this.items = items;
+        }
+    }
+}
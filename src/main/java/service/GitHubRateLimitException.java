@@ -0,0 +1,22 @@
+package service;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Thrown when a GitHub request cannot be sent (or was rejected) because the
+ * token's rate limit is used up and waiting for it would take too long.
+ */
+public class GitHubRateLimitException extends IOException {
+
+    private final Instant retryAt;
+
+    public GitHubRateLimitException(String message, Instant retryAt) {
+        super(message);
+        this.retryAt = retryAt;
+    }
+
+    public Instant getRetryAt() {
+        return retryAt;
+    }
+}
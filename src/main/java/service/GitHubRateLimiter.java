@@ -0,0 +1,276 @@
+package service;
+
+import config.AppConfig;
+import enums.RequestPriority;
+import util.ApiResponse;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gatekeeper for every GitHub request. Tracks the per-token budget from the
+ * X-RateLimit-* headers and decides when a request may go out:
+ * - after a 403/429 the token is blocked until Retry-After / reset, with
+ *   exponential backoff for secondary limits that give no hint
+ * - background calls leave a reserve of the budget for interactive ones,
+ *   are paced once the budget runs low, and yield to waiting interactive calls
+ * - background calls can also be held to a fixed minimum interval per token
+ * If the wait would exceed the priority's limit a GitHubRateLimitException is thrown.
+ */
+public class GitHubRateLimiter {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Map<String, TokenState> tokens = new HashMap<>();
+
+    private final int interactiveReserve;
+    private final long maxWaitInteractiveMs;
+    private final long maxWaitBackgroundMs;
+    private final long secondaryBackoffMs;
+    private final long backgroundMinIntervalMs;
+
+    public GitHubRateLimiter() {
+        this(AppConfig.GITHUB_RATELIMIT_INTERACTIVE_RESERVE, AppConfig.GITHUB_RATELIMIT_MAX_WAIT_INTERACTIVE_MS,
+                AppConfig.GITHUB_RATELIMIT_MAX_WAIT_BACKGROUND_MS, AppConfig.GITHUB_RATELIMIT_SECONDARY_BACKOFF_MS,
+                AppConfig.GITHUB_RATELIMIT_BACKGROUND_MIN_INTERVAL_MS);
+    }
+
+    public GitHubRateLimiter(int interactiveReserve, long maxWaitInteractiveMs, long maxWaitBackgroundMs,
+                             long secondaryBackoffMs) {
+        this(interactiveReserve, maxWaitInteractiveMs, maxWaitBackgroundMs, secondaryBackoffMs, 0);
+    }
+
+    public GitHubRateLimiter(int interactiveReserve, long maxWaitInteractiveMs, long maxWaitBackgroundMs,
+                             long secondaryBackoffMs, long backgroundMinIntervalMs) {
+        this.interactiveReserve = interactiveReserve;
+        this.maxWaitInteractiveMs = maxWaitInteractiveMs;
+        this.maxWaitBackgroundMs = maxWaitBackgroundMs;
+        this.secondaryBackoffMs = secondaryBackoffMs;
+        this.backgroundMinIntervalMs = backgroundMinIntervalMs;
+    }
+
+    // Blocks until a request for this token may be sent
+    public void acquire(String accessToken, RequestPriority priority) throws GitHubRateLimitException {
+        long maxWait = priority == RequestPriority.INTERACTIVE ? maxWaitInteractiveMs : maxWaitBackgroundMs;
+        long deadline = System.currentTimeMillis() + maxWait;
+
+        lock.lock();
+        try {
+            TokenState state = state(accessToken);
+            boolean counted = false;
+            try {
+                while (true) {
+                    long now = System.currentTimeMillis();
+                    long readyAt = readyAt(state, priority, now);
+                    if (readyAt <= now) {
+                        break;
+                    }
+                    if (readyAt > deadline) {
+                        throw new GitHubRateLimitException("GitHub API rate limit reached; retry after " +
+                                Instant.ofEpochMilli(readyAt), Instant.ofEpochMilli(readyAt));
+                    }
+                    if (priority == RequestPriority.INTERACTIVE && !counted) {
+                        state.interactiveWaiting++;
+                        counted = true;
+                    }
+                    try {
+                        changed.await(readyAt - now, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new GitHubRateLimitException("Interrupted while waiting for GitHub rate limit",
+                                Instant.ofEpochMilli(readyAt));
+                    }
+                }
+            } finally {
+                if (counted) {
+                    state.interactiveWaiting--;
+                    changed.signalAll();
+                }
+            }
+
+            // Optimistically spend one unit until the response reports the real value
+            if (state.remaining > 0) {
+                state.remaining--;
+            }
+            state.lastSentAt = System.currentTimeMillis();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Earliest time a request of this priority may go out
+    private long readyAt(TokenState state, RequestPriority priority, long now) {
+        long readyAt = Math.max(now, state.blockedUntil);
+        if (priority == RequestPriority.BACKGROUND && backgroundMinIntervalMs > 0) {
+            // Fixed per-token pace for bulk runs, whatever the budget says
+            readyAt = Math.max(readyAt, state.lastSentAt + backgroundMinIntervalMs);
+        }
+        if (!state.known() || now >= state.resetAt) {
+            return readyAt;
+        }
+
+        if (state.remaining <= 0) {
+            return Math.max(readyAt, state.resetAt);
+        }
+        if (priority == RequestPriority.BACKGROUND) {
+            if (state.remaining <= interactiveReserve) {
+                return Math.max(readyAt, state.resetAt);
+            }
+            if (state.interactiveWaiting > 0) {
+                // Re-checked when the interactive call signals
+                return Math.max(readyAt, now + 50);
+            }
+            // Spread what is left of the budget over the rest of the window once it runs low
+            if (state.remaining < state.limit / 5) {
+                long spacing = (state.resetAt - now) / (state.remaining - interactiveReserve);
+                readyAt = Math.max(readyAt, state.lastSentAt + spacing);
+            }
+        }
+        return readyAt;
+    }
+
+    // Updates the budget from a response. Returns true if the request was rate limited.
+    public boolean onResponse(String accessToken, ApiResponse response) {
+        lock.lock();
+        try {
+            TokenState state = state(accessToken);
+            long now = System.currentTimeMillis();
+
+            String limit = response.header("X-RateLimit-Limit");
+            String remaining = response.header("X-RateLimit-Remaining");
+            String reset = response.header("X-RateLimit-Reset");
+            if (limit != null) state.limit = parseInt(limit, state.limit);
+            if (remaining != null) state.remaining = parseInt(remaining, state.remaining);
+            if (reset != null) state.resetAt = parseLong(reset, state.resetAt / 1000) * 1000;
+
+            int status = response.getStatusCode();
+            boolean limited = status == 429 || (status == 403 && (remaining != null && state.remaining == 0
+                    || response.header("Retry-After") != null || isRateLimitMessage(response)));
+
+            if (limited) {
+                String retryAfter = response.header("Retry-After");
+                if (retryAfter != null) {
+                    state.blockedUntil = now + parseLong(retryAfter, 60) * 1000;
+                } else if (state.remaining == 0 && state.resetAt > now) {
+                    state.blockedUntil = state.resetAt;
+                } else {
+                    // Secondary limit without a hint: back off exponentially
+                    long backoff = secondaryBackoffMs << Math.min(state.consecutiveLimited, 5);
+                    state.blockedUntil = now + backoff;
+                }
+                state.consecutiveLimited++;
+                state.limitedCount++;
+                System.err.println("? GitHub rate limit hit (HTTP " + status + "), pausing until " +
+                        Instant.ofEpochMilli(state.blockedUntil));
+            } else {
+                state.consecutiveLimited = 0;
+            }
+
+            changed.signalAll();
+            return limited;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean isRateLimitMessage(ApiResponse response) {
+        String body = response.bodyAsString();
+        return body != null && body.toLowerCase().contains("rate limit");
+    }
+
+    public Budget getBudget(String accessToken) {
+        lock.lock();
+        try {
+            TokenState state = state(accessToken);
+            return new Budget(state.limit, state.remaining,
+                    state.resetAt > 0 ? Instant.ofEpochMilli(state.resetAt) : null,
+                    state.blockedUntil > System.currentTimeMillis() ? Instant.ofEpochMilli(state.blockedUntil) : null,
+                    state.limitedCount, interactiveReserve);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private TokenState state(String accessToken) {
+        return tokens.computeIfAbsent(accessToken == null ? "" : accessToken, k -> new TokenState());
+    }
+
+    private static int parseInt(String value, int fallback) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static long parseLong(String value, long fallback) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+    private static class TokenState {
+        int limit = -1;
+        int remaining = -1;
+        long resetAt;
+        long blockedUntil;
+        long lastSentAt;
+        int interactiveWaiting;
+        int consecutiveLimited;
+        long limitedCount;
+
+        boolean known() {
+            return limit > 0 && remaining >= 0;
+        }
+    }
+
+    /**
+     * Snapshot of a token's budget. limit/remaining are -1 until GitHub has reported them.
+     */
+    public static class Budget {
+        private final int limit;
+        private final int remaining;
+        private final Instant resetAt;
+        private final Instant blockedUntil;
+        private final long limitedCount;
+        private final int interactiveReserve;
+
+        public Budget(int limit, int remaining, Instant resetAt, Instant blockedUntil, long limitedCount,
+                      int interactiveReserve) {
+            this.limit = limit;
+            this.remaining = remaining;
+            this.resetAt = resetAt;
+            this.blockedUntil = blockedUntil;
+            this.limitedCount = limitedCount;
+            this.interactiveReserve = interactiveReserve;
+        }
+
+        public int getLimit() { return limit; }
+        public int getRemaining() { return remaining; }
+        public Instant getResetAt() { return resetAt; }
+        public Instant getBlockedUntil() { return blockedUntil; }
+        public long getLimitedCount() { return limitedCount; }
+
+        public boolean isKnown() {
+            return limit > 0 && remaining >= 0;
+        }
+
+        // True when background work should stop and leave the rest for interactive calls
+        public boolean isBackgroundExhausted() {
+            boolean windowOpen = resetAt == null || resetAt.isAfter(Instant.now());
+            return blockedUntil != null || (isKnown() && windowOpen && remaining <= interactiveReserve);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("GitHubBudget{remaining=%d/%d, resetAt=%s, blockedUntil=%s, limited=%d}",
+                    remaining, limit, resetAt, blockedUntil, limitedCount);
+        }
+    }
+}
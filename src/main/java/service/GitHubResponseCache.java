@@ -0,0 +1,266 @@
+package service;
+
+import util.ApiResponse;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Validator cache for GitHub GET responses. Stores the ETag / Last-Modified and
+ * body per URL+token so requests can be sent conditionally; a 304 is answered
+ * from here and does not count against the rate limit. Entries live in an LRU
+ * memory tier, and optionally in a disk tier that survives restarts.
+ * Tokens are only ever stored as a SHA-256 hash.
+ */
+public class GitHubResponseCache {
+
+    // Headers worth replaying from a cached response
+    private static final List<String> KEPT_HEADERS = Arrays.asList("ETag", "Last-Modified", "Link", "Content-Type");
+    private static final int DISK_FORMAT_VERSION = 1;
+
+    private final long maxMemoryBytes;
+    private final File diskDir;
+    private final long maxDiskBytes;
+
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private long memoryBytes = 0;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public GitHubResponseCache(long maxMemoryBytes, File diskDir, long maxDiskBytes) {
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.diskDir = diskDir;
+        this.maxDiskBytes = maxDiskBytes;
+        if (diskDir != null && !diskDir.isDirectory() && !diskDir.mkdirs()) {
+            System.err.println("? Could not create GitHub cache directory: " + diskDir);
+        }
+    }
+
+    public static String key(String url, String accessToken) {
+        return sha256(url + "\n" + (accessToken == null ? "" : sha256(accessToken)));
+    }
+
+    // Returns the stored validators and body for this key, or null
+    public Entry lookup(String key) {
+        synchronized (this) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                memoryHits.incrementAndGet();
+                return entry;
+            }
+        }
+        Entry entry = readFromDisk(key);
+        if (entry != null) {
+            diskHits.incrementAndGet();
+            putInMemory(key, entry);
+            return entry;
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public void recordNotModified() {
+        notModified.incrementAndGet();
+    }
+
+    public void store(String key, ApiResponse response) {
+        String etag = response.header("ETag");
+        String lastModified = response.header("Last-Modified");
+        if (etag == null && lastModified == null) {
+            return;
+        }
+
+        Map<String, List<String>> headers = new HashMap<>();
+        for (String name : KEPT_HEADERS) {
+            String value = response.header(name);
+            if (value != null) {
+                headers.put(name, List.of(value));
+            }
+        }
+
+        Entry entry = new Entry(etag, lastModified, response.getStatusCode(), headers, response.getBody());
+        putInMemory(key, entry);
+        writeToDisk(key, entry);
+        stores.incrementAndGet();
+    }
+
+    private synchronized void putInMemory(String key, Entry entry) {
+        Entry previous = memory.put(key, entry);
+        if (previous != null) {
+            memoryBytes -= previous.size();
+        }
+        memoryBytes += entry.size();
+
+        Iterator<Map.Entry<String, Entry>> it = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            if (eldest.getKey().equals(key)) continue;
+            memoryBytes -= eldest.getValue().size();
+            it.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private Entry readFromDisk(String key) {
+        if (diskDir == null) return null;
+        File file = new File(diskDir, key + ".bin");
+        if (!file.isFile()) return null;
+
+        try (InputStream raw = Files.newInputStream(file.toPath());
+             DataInputStream in = new DataInputStream(raw)) {
+            if (in.readInt() != DISK_FORMAT_VERSION) return null;
+            String etag = readNullable(in);
+            String lastModified = readNullable(in);
+            int status = in.readInt();
+            int headerCount = in.readInt();
+            Map<String, List<String>> headers = new HashMap<>();
+            for (int i = 0; i < headerCount; i++) {
+                headers.put(in.readUTF(), List.of(in.readUTF()));
+            }
+            byte[] body = new byte[in.readInt()];
+            in.readFully(body);
+            // Touch so that disk eviction is roughly least-recently-used
+            file.setLastModified(System.currentTimeMillis());
+            return new Entry(etag, lastModified, status, headers, body);
+        } catch (IOException e) {
+            file.delete();
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Entry entry) {
+        if (diskDir == null || entry.size() > maxDiskBytes) return;
+        try {
+            Path tmp = Files.createTempFile(diskDir.toPath(), key, ".tmp");
+            try (OutputStream raw = Files.newOutputStream(tmp);
+                 DataOutputStream out = new DataOutputStream(raw)) {
+                out.writeInt(DISK_FORMAT_VERSION);
+                writeNullable(out, entry.etag);
+                writeNullable(out, entry.lastModified);
+                out.writeInt(entry.statusCode);
+                out.writeInt(entry.headers.size());
+                for (Map.Entry<String, List<String>> header : entry.headers.entrySet()) {
+                    out.writeUTF(header.getKey());
+                    out.writeUTF(header.getValue().get(0));
+                }
+                out.writeInt(entry.body.length);
+                out.write(entry.body);
+            }
+            Files.move(tmp, new File(diskDir, key + ".bin").toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            trimDisk();
+        } catch (IOException e) {
+            System.err.println("? Failed to write GitHub cache entry: " + e.getMessage());
+        }
+    }
+
+    private synchronized void trimDisk() {
+        File[] files = diskDir.listFiles((dir, name) -> name.endsWith(".bin"));
+        if (files == null) return;
+
+        long total = 0;
+        for (File file : files) total += file.length();
+        if (total <= maxDiskBytes) return;
+
+        List<File> oldestFirst = new ArrayList<>(Arrays.asList(files));
+        oldestFirst.sort(Comparator.comparingLong(File::lastModified));
+        for (File file : oldestFirst) {
+            if (total <= maxDiskBytes) break;
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public synchronized long getMemoryBytes() { return memoryBytes; }
+    public synchronized int getMemoryEntries() { return memory.size(); }
+    public long getMemoryHits() { return memoryHits.get(); }
+    public long getDiskHits() { return diskHits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getNotModified() { return notModified.get(); }
+    public long getStores() { return stores.get(); }
+    public long getEvictions() { return evictions.get(); }
+
+    @Override
+    public String toString() {
+        return String.format("GitHubResponseCache{entries=%d, memory=%dB, memoryHits=%d, diskHits=%d, misses=%d, " +
+                        "served304=%d, stores=%d, evictions=%d}",
+                getMemoryEntries(), getMemoryBytes(), getMemoryHits(), getDiskHits(), getMisses(),
+                getNotModified(), getStores(), getEvictions());
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Entry {
+        private final String etag;
+        private final String lastModified;
+        private final int statusCode;
+        private final Map<String, List<String>> headers;
+        private final byte[] body;
+
+        Entry(String etag, String lastModified, int statusCode, Map<String, List<String>> headers, byte[] body) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        public String getEtag() { return etag; }
+        public String getLastModified() { return lastModified; }
+
+        long size() {
+            return body.length + 256;
+        }
+
+        public ApiResponse toResponse() {
+            return new ApiResponse(statusCode, headers, body, 0);
+        }
+    }
+}
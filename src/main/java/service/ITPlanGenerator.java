@@ -2,6 +2,7 @@ package service;
 
 import model.*;
 import dao.*;
+import config.AppConfig;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,15 +10,25 @@ import java.util.List;
 public class ITPlanGenerator implements PlanStrategyService {
     
     private StudyTaskDAO studyTaskDAO;
+    private TaskSeriesDAO taskSeriesDAO;
     private GoalDAO goalDAO;
+    private PlanReplanner replanner;
     
     public ITPlanGenerator() {
         this.studyTaskDAO = new StudyTaskDAO();
+        this.taskSeriesDAO = new TaskSeriesDAO();
         this.goalDAO = new GoalDAO();
+        this.replanner = new PlanReplanner(AppConfig.PLAN_REPLAN_MAX_DAILY_HOURS);
     }
     
     @Override
     public StudyPlan generatePlan(User user, String repoName, LocalDate deadline, int dailyHours, String difficulty) {
+        return generatePlan(user, repoName, deadline, dailyHours, difficulty, AppConfig.PLAN_SERIES_ENABLED);
+    }
+    
+    // compact: one recurring task series row; otherwise one study_tasks row per day
+    StudyPlan generatePlan(User user, String repoName, LocalDate deadline, int dailyHours, String difficulty,
+                           boolean compact) {
         StudyPlan plan = new StudyPlan();
         plan.setUserId(user.getId());
         plan.setRepositoryName(repoName);
@@ -30,6 +41,22 @@ public class ITPlanGenerator implements PlanStrategyService {
         // Calculate total days
         long totalDays = java.time.temporal.ChronoUnit.DAYS.between(LocalDate.now(), deadline);
         
+        if (compact) {
+            if (totalDays > 0) {
+                TaskSeries series = new TaskSeries();
+                series.setUserId(user.getId());
+                series.setRepositoryName(repoName);
+                series.setStartDate(LocalDate.now());
+                series.setEndDate(LocalDate.now().plusDays(totalDays - 1));
+                series.setCadenceDays(1);
+                series.setPlannedHours(dailyHours);
+                series.setPlannedCommits(1);
+                series.setDescriptionTemplate("Work on {repo} - Day {day}");
+                taskSeriesDAO.save(series);
+            }
+            return plan;
+        }
+        
         // Create daily tasks using DailyTask
         List<DailyTask> tasks = new ArrayList<>();
         
@@ -52,11 +79,49 @@ public class ITPlanGenerator implements PlanStrategyService {
         return plan;
     }
     
+    // Moves the hours of newly missed tasks (with missed=true) and of tasks past the
+    // deadline into the remaining days; only the rows that change are written.
+    // Without a deadline the plan keeps its current end and daily hours.
     @Override
     public void adjustPlan(StudyPlan plan, boolean missed) {
-        if (missed) {
-            System.out.println("Adjusting plan for missed tasks");
-            // Implement plan adjustment logic here
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        List<DailyTask> suffix = studyTaskDAO.find(TaskQuery.forUser(plan.getUserId())
+            .repository(plan.getRepositoryName())
+            .from(today)
+            .status("PENDING"));
+        
+        LocalDate deadline = plan.getDeadline();
+        int dailyHours = plan.getDailyHours();
+        if (deadline == null) {
+            if (suffix.isEmpty()) {
+                System.out.println("?? No remaining days to adjust for " + plan.getRepositoryName());
+                return;
+            }
+            deadline = suffix.get(suffix.size() - 1).getTaskDate().plusDays(1);
+            for (DailyTask task : suffix) {
+                dailyHours = Math.max(dailyHours, task.getPlannedHours());
+            }
+            plan.setDeadline(deadline);
+            plan.setDailyHours(dailyHours);
+        }
+        List<DailyTask> missedTasks = missed
+            ? studyTaskDAO.findMissedToReplan(plan.getUserId(), plan.getRepositoryName())
+            : new ArrayList<>();
+        
+        PlanDiff diff = replanner.replan(suffix, missedTasks, today, deadline, dailyHours);
+        if (diff.isEmpty()) {
+            System.out.println("?? No adjustment needed for " + plan.getRepositoryName());
+            return;
+        }
+        if (studyTaskDAO.applyDiff(diff)) {
+            System.out.println("?? Adjusted plan for " + plan.getRepositoryName() + ": " + diff + " in "
+                + (System.nanoTime() - started) / 1_000_000 + " ms");
+        }
+        if (diff.getUnplacedHours() > 0) {
+            System.err.println("? " + diff.getUnplacedHours() + " h of " + plan.getRepositoryName()
+                + " do not fit before " + plan.getDeadline() + " at " + Math.max(plan.getDailyHours(),
+                AppConfig.PLAN_REPLAN_MAX_DAILY_HOURS) + " h/day");
         }
     }
 }
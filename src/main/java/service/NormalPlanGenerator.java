@@ -2,6 +2,7 @@ package service;
 
 import model.*;
 import dao.*;
+import config.AppConfig;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,13 +10,21 @@ import java.util.List;
 public class NormalPlanGenerator implements PlanStrategyService {
     
     private StudyTaskDAO studyTaskDAO;
+    private TaskSeriesDAO taskSeriesDAO;
     
     public NormalPlanGenerator() {
         this.studyTaskDAO = new StudyTaskDAO();
+        this.taskSeriesDAO = new TaskSeriesDAO();
     }
     
     @Override
     public StudyPlan generatePlan(User user, String subject, LocalDate deadline, int dailyHours, String difficulty) {
+        return generatePlan(user, subject, deadline, dailyHours, difficulty, AppConfig.PLAN_SERIES_ENABLED);
+    }
+    
+    // compact: one recurring task series row; otherwise one study_tasks row per day
+    StudyPlan generatePlan(User user, String subject, LocalDate deadline, int dailyHours, String difficulty,
+                           boolean compact) {
         StudyPlan plan = new StudyPlan();
         plan.setUserId(user.getId());
         plan.setRepositoryName(subject);
@@ -28,6 +37,22 @@ public class NormalPlanGenerator implements PlanStrategyService {
         // Calculate total days
         long totalDays = java.time.temporal.ChronoUnit.DAYS.between(LocalDate.now(), deadline);
         
+        if (compact) {
+            if (totalDays > 0) {
+                TaskSeries series = new TaskSeries();
+                series.setUserId(user.getId());
+                series.setRepositoryName(subject);
+                series.setStartDate(LocalDate.now());
+                series.setEndDate(LocalDate.now().plusDays(totalDays - 1));
+                series.setCadenceDays(1);
+                series.setPlannedHours(dailyHours);
+                series.setPlannedCommits(0);
+                series.setDescriptionTemplate("Study {repo} - Day {day}");
+                taskSeriesDAO.save(series);
+            }
+            return plan;
+        }
+        
         // Create daily tasks
         List<DailyTask> tasks = new ArrayList<>();
         
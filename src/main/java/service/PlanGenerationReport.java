@@ -0,0 +1,96 @@
+package service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Outcome of one plan generation run: per-repository timings and failures,
+ * and whether the combined plan was committed.
+ */
+public class PlanGenerationReport {
+
+    private final List<RepoResult> results = new ArrayList<>();
+    private boolean saved;
+    private long totalMillis;
+
+    void add(RepoResult result) {
+        results.add(result);
+    }
+
+    void setSaved(boolean saved) {
+        this.saved = saved;
+    }
+
+    void setTotalMillis(long totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public List<RepoResult> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    public List<RepoResult> getFailures() {
+        List<RepoResult> failures = new ArrayList<>();
+        for (RepoResult result : results) {
+            if (!result.isSuccess()) failures.add(result);
+        }
+        return failures;
+    }
+
+    // True when the plan for every successful repository was written
+    public boolean isSaved() {
+        return saved;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void print() {
+        for (RepoResult result : results) {
+            System.out.println("?? " + result);
+        }
+        System.out.println("?? Plan generation took " + totalMillis + "ms for " + results.size() +
+                " repositories (" + getFailures().size() + " failed, saved=" + saved + ")");
+    }
+
+    public static class RepoResult {
+        private final String repositoryName;
+        private final ProjectTypeDetector.ProjectType projectType;
+        private final int taskCount;
+        private final long detectMillis;
+        private final long buildMillis;
+        private final String error;
+
+        RepoResult(String repositoryName, ProjectTypeDetector.ProjectType projectType, int taskCount,
+                   long detectMillis, long buildMillis, String error) {
+            this.repositoryName = repositoryName;
+            this.projectType = projectType;
+            this.taskCount = taskCount;
+            this.detectMillis = detectMillis;
+            this.buildMillis = buildMillis;
+            this.error = error;
+        }
+
+        public String getRepositoryName() { return repositoryName; }
+        public ProjectTypeDetector.ProjectType getProjectType() { return projectType; }
+        public int getTaskCount() { return taskCount; }
+        public long getDetectMillis() { return detectMillis; }
+        public long getBuildMillis() { return buildMillis; }
+        public String getError() { return error; }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+
+        @Override
+        public String toString() {
+            if (!isSuccess()) {
+                return repositoryName + ": FAILED (" + error + ")";
+            }
+            return String.format("%s: %s, %d tasks, detect=%dms, build=%dms",
+                    repositoryName, projectType, taskCount, detectMillis, buildMillis);
+        }
+    }
+}
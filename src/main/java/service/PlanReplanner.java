@@ -0,0 +1,117 @@
+package service;
+
+import model.DailyTask;
+import model.PlanDiff;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Moves missed work into the rest of a plan without regenerating it.
+ *
+ * Only the suffix of the plan is read: the PENDING tasks from the first replanned day
+ * on. The hours of MISSED tasks, and of tasks dated on or after the deadline, are
+ * spread over the days before the deadline by water-filling: the days with the fewest
+ * planned hours are raised first, up to the daily budget. Leftover single hours go to
+ * the earliest of the lowest days. A day changes only when its hours change. The
+ * result is a PlanDiff of rows to update, insert and delete, and it costs
+ * O(suffix days + budget).
+ */
+public class PlanReplanner {
+
+    private final int maxDailyHours;
+
+    public PlanReplanner(int maxDailyHours) {
+        this.maxDailyHours = maxDailyHours;
+    }
+
+    /**
+     * suffix: PENDING tasks of one repository dated from or later (series days included).
+     * missed: MISSED tasks of the repository whose hours have not been moved yet.
+     * Work is placed on [from, deadline) with at most max(dailyHours, maxDailyHours) a day.
+     */
+    public PlanDiff replan(List<DailyTask> suffix, List<DailyTask> missed, LocalDate from, LocalDate deadline,
+                           int dailyHours) {
+        int days = (int) Math.max(0, ChronoUnit.DAYS.between(from, deadline));
+        int budget = Math.max(1, Math.max(dailyHours, maxDailyHours));
+        PlanDiff diff = new PlanDiff();
+        diff.setSuffixDays(days);
+
+        int extra = 0;
+        for (DailyTask task : missed) {
+            extra += Math.max(0, task.getPlannedHours() - task.getActualHours());
+            diff.getCarried().add(task.getId());
+        }
+
+        // Current hours per day; the first task of a day takes any change
+        int[] load = new int[days];
+        DailyTask[] carrier = new DailyTask[days];
+        for (DailyTask task : suffix) {
+            long day = ChronoUnit.DAYS.between(from, task.getTaskDate());
+            if (day < 0) continue;
+            if (day >= days) {
+                // Past the deadline: the work moves in, the day goes away
+                extra += task.getPlannedHours();
+                if (task.isVirtual()) {
+                    diff.getSeriesEnds().put(task.getSeriesId(), deadline.minusDays(1));
+                } else {
+                    diff.getDeleted().add(task.getId());
+                }
+                continue;
+            }
+            load[(int) day] += task.getPlannedHours();
+            if (carrier[(int) day] == null) carrier[(int) day] = task;
+        }
+        diff.setMovedHours(extra);
+
+        // Water level: the highest whole-hour level all lower days can be raised to
+        int[] daysAtLoad = new int[budget + 1];
+        for (int hours : load) {
+            daysAtLoad[Math.min(hours, budget)]++;
+        }
+        int level = 0;
+        int atOrBelow = daysAtLoad[0];
+        while (level < budget && extra >= atOrBelow) {
+            extra -= atOrBelow;
+            level++;
+            atOrBelow += daysAtLoad[level];
+        }
+
+        DailyTask sample = !suffix.isEmpty() ? suffix.get(0) : !missed.isEmpty() ? missed.get(0) : null;
+        for (int day = 0; day < days; day++) {
+            int hours = Math.max(load[day], level);
+            if (extra > 0 && level < budget && load[day] <= level) {
+                hours++;
+                extra--;
+            }
+            if (hours != load[day]) {
+                change(diff, carrier[day], sample, from.plusDays(day), hours - load[day]);
+            }
+        }
+        diff.setUnplacedHours(extra);
+        return diff;
+    }
+
+    private void change(PlanDiff diff, DailyTask task, DailyTask sample, LocalDate date, int delta) {
+        if (task == null) {
+            DailyTask catchUp = new DailyTask();
+            catchUp.setUserId(sample.getUserId());
+            catchUp.setGoalId(sample.getGoalId());
+            catchUp.setRepositoryName(sample.getRepositoryName());
+            catchUp.setTaskDate(date);
+            catchUp.setPlannedHours(delta);
+            catchUp.setPlannedCommits(Math.max(1, sample.getPlannedCommits()));
+            catchUp.setStatus("PENDING");
+            catchUp.setDescription("Catch up on " + sample.getRepositoryName());
+            diff.getInserted().add(catchUp);
+            return;
+        }
+        task.setPlannedHours(task.getPlannedHours() + delta);
+        if (task.isVirtual()) {
+            diff.getInserted().add(task); // the series day gets its own row
+        } else {
+            diff.getUpdated().add(task);
+        }
+    }
+}
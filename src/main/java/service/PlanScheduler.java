@@ -0,0 +1,292 @@
+package service;
+
+import model.DailyTask;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Places the subtasks of several repositories on the days of one plan window.
+ *
+ * Each repository is a lane. Its tasks keep their order, which is feature order and
+ * then subtask order within the feature.
+ *
+ * BALANCED fills one day at a time and keeps pace with the window. By the end of
+ * day d, about total hours * (d + 1) / days should be placed. A day takes work while
+ * the plan is behind that pace, or while the rest of the window is more than half
+ * full, and never more than dailyHours. A light plan is
+ * therefore spaced out over the whole window, with idle days in between instead of at
+ * the end. A heavy plan fills every day. Lanes share each day by weighted fair queuing:
+ * the lane that has received the fewest hours per unit of priority weight goes next.
+ * A task longer than dailyHours is split into day-sized parts. Work that does not fit
+ * in the window is returned as unscheduled, and the tails of low-priority lanes are
+ * the first to be left out.
+ *
+ * SEQUENTIAL is the original placement, kept for comparison: every lane starts on day
+ * 0 with one task per day, whatever the hours.
+ */
+public class PlanScheduler {
+
+    public enum Strategy { SEQUENTIAL, BALANCED }
+
+    private final Strategy strategy;
+
+    public PlanScheduler(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    /**
+     * Dates the lanes' tasks within [startDate, startDate + days). Tasks are not copied
+     * unless they are split, so the given tasks get their dates set.
+     */
+    public Schedule schedule(List<Lane> lanes, LocalDate startDate, int days, int dailyHours) {
+        int capacity = Math.max(1, dailyHours);
+        Schedule schedule = new Schedule(lanes.size(), Math.max(0, days), capacity);
+        if (strategy == Strategy.SEQUENTIAL) {
+            scheduleSequential(lanes, startDate, schedule);
+        } else {
+            scheduleBalanced(lanes, startDate, schedule);
+        }
+        return schedule;
+    }
+
+    private void scheduleSequential(List<Lane> lanes, LocalDate startDate, Schedule schedule) {
+        for (int lane = 0; lane < lanes.size(); lane++) {
+            int day = 0;
+            for (DailyTask task : lanes.get(lane).work) {
+                if (day >= schedule.days) {
+                    schedule.unscheduled.add(task);
+                    continue;
+                }
+                schedule.place(lane, task, startDate, day++);
+            }
+        }
+    }
+
+    private void scheduleBalanced(List<Lane> lanes, LocalDate startDate, Schedule schedule) {
+        int laneCount = lanes.size();
+        List<ArrayDeque<DailyTask>> queues = new ArrayList<>(laneCount);
+        double[] served = new double[laneCount]; // hours received / weight
+        long total = 0;
+        for (Lane lane : lanes) {
+            ArrayDeque<DailyTask> queue = new ArrayDeque<>();
+            for (DailyTask task : lane.work) {
+                for (DailyTask part : split(task, schedule.dailyHours)) {
+                    queue.add(part);
+                    total += part.getPlannedHours();
+                }
+            }
+            queues.add(queue);
+        }
+
+        PriorityQueue<Integer> ready = new PriorityQueue<>(Math.max(1, laneCount),
+                Comparator.<Integer>comparingDouble(lane -> served[lane]).thenComparingInt(lane -> lane));
+        for (int lane = 0; lane < laneCount; lane++) {
+            if (!queues.get(lane).isEmpty()) ready.add(lane);
+        }
+
+        List<Integer> waiting = new ArrayList<>();
+        long placed = 0;
+        for (int day = 0; day < schedule.days && !ready.isEmpty(); day++) {
+            // Hours the plan should have placed by the end of this day
+            double due = (double) total * (day + 1) / schedule.days;
+            long daysLeft = schedule.days - day;
+            long remaining = total - placed;
+            // A day ahead of pace stays idle, unless the rest of the window is more than half
+            // full; then every day is needed, since tasks rarely fill a day exactly
+            if (placed >= due && remaining * 2 <= (daysLeft - 1) * schedule.dailyHours) continue;
+            long spread = (remaining + daysLeft - 1) / daysLeft;
+            int budget = (int) Math.min(schedule.dailyHours, Math.max(Math.ceil(due - placed), spread));
+            int load = 0;
+            while (!ready.isEmpty() && load < budget) {
+                int lane = ready.poll();
+                DailyTask next = queues.get(lane).peek();
+                int hours = next.getPlannedHours();
+                // A day that is due takes one task of any size; more only if they fit the budget
+                if (load > 0 && load + hours > budget) {
+                    waiting.add(lane);
+                    continue;
+                }
+                queues.get(lane).poll();
+                schedule.place(lane, next, startDate, day);
+                load += hours;
+                placed += hours;
+                served[lane] += hours / lanes.get(lane).weight;
+                if (!queues.get(lane).isEmpty()) ready.add(lane);
+            }
+            ready.addAll(waiting);
+            waiting.clear();
+        }
+
+        for (ArrayDeque<DailyTask> queue : queues) {
+            schedule.unscheduled.addAll(queue);
+        }
+    }
+
+    // Day-sized parts of a task longer than a day; the task itself otherwise
+    private static List<DailyTask> split(DailyTask task, int dailyHours) {
+        int hours = Math.max(1, task.getPlannedHours());
+        if (hours <= dailyHours) {
+            task.setPlannedHours(hours);
+            return Collections.singletonList(task);
+        }
+        int parts = (hours + dailyHours - 1) / dailyHours;
+        List<DailyTask> split = new ArrayList<>(parts);
+        for (int i = 0; i < parts; i++) {
+            DailyTask part = new DailyTask();
+            part.setUserId(task.getUserId());
+            part.setGoalId(task.getGoalId());
+            part.setRepositoryName(task.getRepositoryName());
+            part.setPlannedHours(Math.min(dailyHours, hours - i * dailyHours));
+            part.setPlannedCommits(task.getPlannedCommits());
+            part.setStatus(task.getStatus());
+            part.setDescription(task.getDescription() + " (part " + (i + 1) + "/" + parts + ")");
+            split.add(part);
+        }
+        return split;
+    }
+
+    /**
+     * One repository's tasks, in the order they have to be done. weight is the
+     * repository's priority weight (higher gets a larger share of each day).
+     */
+    public static class Lane {
+        private final String name;
+        private final double weight;
+        private final List<DailyTask> work;
+
+        public Lane(String name, double weight, List<DailyTask> work) {
+            this.name = name;
+            this.weight = Math.max(0.01, weight);
+            this.work = work;
+        }
+
+        public String getName() { return name; }
+        public double getWeight() { return weight; }
+    }
+
+    /**
+     * Dated tasks per lane, the tasks that did not fit, and how even the load is.
+     */
+    public static class Schedule {
+        private final List<List<DailyTask>> tasksByLane = new ArrayList<>();
+        private final List<DailyTask> unscheduled = new ArrayList<>();
+        private final int[] dayHours;
+        private final int days;
+        private final int dailyHours;
+
+        Schedule(int lanes, int days, int dailyHours) {
+            for (int i = 0; i < lanes; i++) {
+                tasksByLane.add(new ArrayList<>());
+            }
+            this.days = days;
+            this.dailyHours = dailyHours;
+            this.dayHours = new int[days];
+        }
+
+        private void place(int lane, DailyTask task, LocalDate startDate, int day) {
+            task.setTaskDate(startDate.plusDays(day));
+            tasksByLane.get(lane).add(task);
+            dayHours[day] += task.getPlannedHours();
+        }
+
+        // The lane's tasks in date order
+        public List<DailyTask> getTasks(int lane) {
+            return tasksByLane.get(lane);
+        }
+
+        public List<DailyTask> getUnscheduled() {
+            return unscheduled;
+        }
+
+        public int getTaskCount() {
+            int count = 0;
+            for (List<DailyTask> tasks : tasksByLane) {
+                count += tasks.size();
+            }
+            return count;
+        }
+
+        public long getScheduledHours() {
+            long hours = 0;
+            for (int load : dayHours) {
+                hours += load;
+            }
+            return hours;
+        }
+
+        public long getUnscheduledHours() {
+            long hours = 0;
+            for (DailyTask task : unscheduled) {
+                hours += task.getPlannedHours();
+            }
+            return hours;
+        }
+
+        public int getPeakDayHours() {
+            int peak = 0;
+            for (int load : dayHours) {
+                peak = Math.max(peak, load);
+            }
+            return peak;
+        }
+
+        // Days planned beyond dailyHours
+        public int getOverbookedDays() {
+            int overbooked = 0;
+            for (int load : dayHours) {
+                if (load > dailyHours) overbooked++;
+            }
+            return overbooked;
+        }
+
+        // Days of the window with no work at all
+        public int getIdleDays() {
+            int idle = 0;
+            for (int load : dayHours) {
+                if (load == 0) idle++;
+            }
+            return idle;
+        }
+
+        // Idle days after the last planned day
+        public int getIdleTailDays() {
+            int idle = 0;
+            for (int day = days - 1; day >= 0 && dayHours[day] == 0; day--) {
+                idle++;
+            }
+            return idle;
+        }
+
+        // Standard deviation of the daily hours over the whole window; 0 is perfectly even
+        public double getLoadStdDev() {
+            if (days == 0) return 0;
+            double mean = getScheduledHours() / (double) days;
+            double sum = 0;
+            for (int load : dayHours) {
+                sum += (load - mean) * (load - mean);
+            }
+            return Math.sqrt(sum / days);
+        }
+
+        // Day index (0-based) of the lane's last task, or -1 if nothing of it was placed
+        public int getFinishDay(int lane, LocalDate startDate) {
+            List<DailyTask> tasks = tasksByLane.get(lane);
+            if (tasks.isEmpty()) return -1;
+            return (int) java.time.temporal.ChronoUnit.DAYS.between(startDate, tasks.get(tasks.size() - 1).getTaskDate());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d tasks, %d h scheduled, %d h unscheduled (%d tasks), peak %d h/day, "
+                            + "%d overbooked and %d idle of %d days (%d idle at the end), load std dev %.2f h",
+                    getTaskCount(), getScheduledHours(), getUnscheduledHours(), unscheduled.size(),
+                    getPeakDayHours(), getOverbookedDays(), getIdleDays(), days, getIdleTailDays(), getLoadStdDev());
+        }
+    }
+}
@@ -1,67 +1,64 @@
 package service;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import config.AppConfig;
+import util.ApiResponse;
 
 public class ProjectTypeDetector {
     
-    private final String GITHUB_API = "https://api.github.com/repos/";
-    
     public enum ProjectType {
         JAVA_BACKEND, SPRING_BOOT, NODE_BACKEND, REACT_FRONTEND, 
         STATIC_WEBSITE, PYTHON_BACKEND, FLASK, DJANGO, 
         ANDROID, IOS, LIBRARY, OTHER
     }
     
+    // Detected type per repository, tagged with the root tree SHA it was detected from
+    private static final Map<String, Detection> DETECTIONS = new ConcurrentHashMap<>();
+    
     public ProjectType detectProjectType(String accessToken, String repoFullName) {
         try {
             String[] parts = repoFullName.split("/");
             String owner = parts[0];
             String repo = parts[1];
             
-            // Check for pom.xml (Java/Spring)
-            if (fileExists(accessToken, owner, repo, "pom.xml")) {
-                String content = getFileContent(accessToken, owner, repo, "pom.xml");
-                if (content.contains("spring-boot")) {
-                    return ProjectType.SPRING_BOOT;
-                }
-                return ProjectType.JAVA_BACKEND;
+            // Detected recently: no calls at all
+            Detection cached = DETECTIONS.get(repoFullName);
+            if (cached != null && System.currentTimeMillis() - cached.checkedAt < AppConfig.GITHUB_DETECT_TTL_MS) {
+                return cached.type;
             }
             
-            // Check for package.json (Node/React)
-            if (fileExists(accessToken, owner, repo, "package.json")) {
-                String content = getFileContent(accessToken, owner, repo, "package.json");
-                if (content.contains("react") || content.contains("next")) {
-                    return ProjectType.REACT_FRONTEND;
-                }
-                return ProjectType.NODE_BACKEND;
+            // One call for the root tree of the default branch (a 304 when nothing was pushed)
+            ApiResponse response = GitHubApiClient.getInstance()
+                .get(String.format("/repos/%s/%s/git/trees/HEAD", owner, repo), accessToken);
+            if (!response.isSuccess()) {
+                // Empty or inaccessible repository
+                return ProjectType.OTHER;
             }
             
-            // Check for requirements.txt (Python)
-            if (fileExists(accessToken, owner, repo, "requirements.txt")) {
-                String content = getFileContent(accessToken, owner, repo, "requirements.txt");
-                if (content.contains("django")) {
-                    return ProjectType.DJANGO;
-                }
-                if (content.contains("flask")) {
-                    return ProjectType.FLASK;
-                }
-                return ProjectType.PYTHON_BACKEND;
+            JSONObject tree = new JSONObject(response.bodyAsString());
+            String treeSha = tree.getString("sha");
+            if (cached != null && treeSha.equals(cached.treeSha)) {
+                DETECTIONS.put(repoFullName, new Detection(treeSha, cached.type));
+                return cached.type;
             }
             
-            // Check for index.html only
-            if (fileExists(accessToken, owner, repo, "index.html") && 
-                !fileExists(accessToken, owner, repo, "package.json")) {
-                return ProjectType.STATIC_WEBSITE;
+            Map<String, String> rootFiles = new HashMap<>();
+            JSONArray entries = tree.getJSONArray("tree");
+            for (int i = 0; i < entries.length(); i++) {
+                JSONObject entry = entries.getJSONObject(i);
+                if ("blob".equals(entry.optString("type"))) {
+                    rootFiles.put(entry.getString("path"), entry.getString("sha"));
+                }
             }
             
-            return ProjectType.OTHER;
+            ProjectType type = detectFromRoot(accessToken, owner, repo, rootFiles);
+            DETECTIONS.put(repoFullName, new Detection(treeSha, type));
+            return type;
             
         } catch (Exception e) {
             e.printStackTrace();
@@ -69,47 +66,75 @@ public class ProjectTypeDetector {
         }
     }
     
-    private boolean fileExists(String accessToken, String owner, String repo, String filePath) {
-        try {
-            String urlStr = String.format("https://api.github.com/repos/%s/%s/contents/%s", 
-                owner, repo, filePath);
-            URL url = new URL(urlStr);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
-            conn.setRequestProperty("Authorization", "token " + accessToken);
-            
-            return conn.getResponseCode() == 200;
-        } catch (Exception e) {
-            return false;
+    // Fetches at most one manifest, picked from the root file listing
+    private ProjectType detectFromRoot(String accessToken, String owner, String repo, Map<String, String> rootFiles) {
+        // Check for pom.xml (Java/Spring)
+        if (rootFiles.containsKey("pom.xml")) {
+            String content = getBlobContent(accessToken, owner, repo, rootFiles.get("pom.xml"));
+            if (content.contains("spring-boot")) {
+                return ProjectType.SPRING_BOOT;
+            }
+            return ProjectType.JAVA_BACKEND;
+        }
+        
+        // Check for package.json (Node/React)
+        if (rootFiles.containsKey("package.json")) {
+            String content = getBlobContent(accessToken, owner, repo, rootFiles.get("package.json"));
+            if (content.contains("react") || content.contains("next")) {
+                return ProjectType.REACT_FRONTEND;
+            }
+            return ProjectType.NODE_BACKEND;
+        }
+        
+        // Check for requirements.txt (Python)
+        if (rootFiles.containsKey("requirements.txt")) {
+            String content = getBlobContent(accessToken, owner, repo, rootFiles.get("requirements.txt"));
+            if (content.contains("django")) {
+                return ProjectType.DJANGO;
+            }
+            if (content.contains("flask")) {
+                return ProjectType.FLASK;
+            }
+            return ProjectType.PYTHON_BACKEND;
         }
+        
+        // Check for index.html only (package.json was ruled out above)
+        if (rootFiles.containsKey("index.html")) {
+            return ProjectType.STATIC_WEBSITE;
+        }
+        
+        return ProjectType.OTHER;
     }
     
-    private String getFileContent(String accessToken, String owner, String repo, String filePath) {
+    // Blobs are addressed by content SHA, so they never change once fetched
+    private String getBlobContent(String accessToken, String owner, String repo, String blobSha) {
         try {
-            String urlStr = String.format("https://api.github.com/repos/%s/%s/contents/%s", 
-                owner, repo, filePath);
-            URL url = new URL(urlStr);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
-            conn.setRequestProperty("Authorization", "token " + accessToken);
-            
-            BufferedReader reader = new BufferedReader(
-                new InputStreamReader(conn.getInputStream()));
-            StringBuilder response = new StringBuilder();
-            String line;
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
+            String path = String.format("/repos/%s/%s/git/blobs/%s", owner, repo, blobSha);
+            ApiResponse response = GitHubApiClient.getInstance().get(path, accessToken);
+            if (!response.isSuccess()) {
+                return "";
             }
-            reader.close();
             
-            JSONObject json = new JSONObject(response.toString());
+            JSONObject json = new JSONObject(response.bodyAsString());
             String content = json.getString("content");
-            // Decode base64 content
-            byte[] decoded = java.util.Base64.getDecoder().decode(content);
-            return new String(decoded);
+            // Decode base64 content (GitHub wraps it at 60 columns, hence the MIME decoder)
+            byte[] decoded = java.util.Base64.getMimeDecoder().decode(content);
+            return new String(decoded, StandardCharsets.UTF_8);
             
         } catch (Exception e) {
             return "";
         }
     }
+    
+    private static class Detection {
+        final String treeSha;
+        final ProjectType type;
+        final long checkedAt;
+        
+        Detection(String treeSha, ProjectType type) {
+            this.treeSha = treeSha;
+            this.type = type;
+            this.checkedAt = System.currentTimeMillis();
+        }
+    }
 }
@@ -5,104 +5,175 @@ import model.Goal;
 import model.DailyTask;
 import model.FeatureTemplate;
 import dao.GoalDAO;
-import dao.StudyTaskDAO;
+import config.AppConfig;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class StudyPlanGenerator {
     
-    private StudyTaskDAO taskDAO;
     private GoalDAO goalDAO;
     private ProjectTypeDetector typeDetector;
     private TemplateLibrary templateLibrary;
+    private PlanScheduler scheduler;
     
     public StudyPlanGenerator() {
-        this.taskDAO = new StudyTaskDAO();
         this.goalDAO = new GoalDAO();
         this.typeDetector = new ProjectTypeDetector();
         this.templateLibrary = new TemplateLibrary();
+        this.scheduler = new PlanScheduler(AppConfig.PLAN_SCHEDULER);
     }
     
-    public void generatePlan(User user, List<String> selectedRepos, 
+    public PlanGenerationReport generatePlan(User user, List<String> selectedRepos, 
                             List<String> priorities, List<String> features,
                             int durationMonths, int dailyHours, 
                             List<String> experienceLevels) {
         
+        long started = System.nanoTime();
         LocalDate startDate = LocalDate.now();
         LocalDate endDate = startDate.plusMonths(durationMonths);
         int totalDays = (int) java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate);
-        int totalAvailableHours = totalDays * dailyHours;
         
-        // Calculate total priority weight
-        double totalWeight = 0;
-        for (String priority : priorities) {
-            double weight = getPriorityWeight(priority);
-            totalWeight += weight;
-        }
+        // Every repository of this plan uses the same catalogue version, even if it is reloaded meanwhile
+        TemplateLibrary library = templateLibrary.snapshot();
         
-        // Create goal for each repository
+        List<Callable<RepoPlan>> jobs = new ArrayList<>();
         for (int i = 0; i < selectedRepos.size(); i++) {
-            String repoName = selectedRepos.get(i);
-            String priority = priorities.get(i);
-            String featureList = features.get(i);
-            String experienceLevel = experienceLevels.get(i);
-            
-            // Detect project type
-            ProjectTypeDetector.ProjectType projectType = 
-                typeDetector.detectProjectType(user.getAccessToken(), repoName);
-            
-            // Create goal
-            Goal goal = new Goal(user.getId(), repoName, priority, featureList, 
-                                durationMonths, dailyHours, experienceLevel);
-            goalDAO.save(goal);
-            System.out.println("? Goal created for: " + repoName + " (Type: " + projectType + ")");
-            
-            // Parse features
-            String[] featureArray = featureList.split(",");
-            
-            // Allocate hours per feature based on priority
-            double repoWeight = getPriorityWeight(priority);
-            double repoHours = (repoWeight / totalWeight) * totalAvailableHours;
+            final int index = i;
+            jobs.add(() -> buildRepoPlan(user, selectedRepos.get(index), priorities.get(index),
+                    features.get(index), experienceLevels.get(index), durationMonths, dailyHours, library));
+        }
+        
+        List<RepoPlan> repoPlans = AppConfig.PLAN_CONCURRENT_GENERATION && jobs.size() > 1
+                ? runConcurrently(selectedRepos, jobs)
+                : runSequentially(selectedRepos, jobs);
+        
+        // The repositories share the daily hours, so their subtasks are placed together
+        List<PlanScheduler.Lane> lanes = new ArrayList<>();
+        for (RepoPlan repoPlan : repoPlans) {
+            if (repoPlan.goal != null) {
+                lanes.add(new PlanScheduler.Lane(repoPlan.goal.getRepositoryName(), repoPlan.weight, repoPlan.work));
+            }
+        }
+        PlanScheduler.Schedule schedule = scheduler.schedule(lanes, startDate, totalDays, dailyHours);
+        logSchedule(schedule, lanes, startDate);
+        
+        // Goals and tasks for every repository that succeeded are committed together
+        PlanGenerationReport report = new PlanGenerationReport();
+        Map<Goal, List<DailyTask>> tasksByGoal = new LinkedHashMap<>();
+        int lane = 0;
+        for (RepoPlan repoPlan : repoPlans) {
+            if (repoPlan.goal != null) {
+                List<DailyTask> tasks = schedule.getTasks(lane++);
+                tasksByGoal.put(repoPlan.goal, tasks);
+                report.add(repoPlan.result(tasks.size()));
+            } else {
+                report.add(repoPlan.failure);
+            }
+        }
+        report.setSaved(goalDAO.savePlan(tasksByGoal));
+        report.setTotalMillis((System.nanoTime() - started) / 1_000_000);
+        report.print();
+        return report;
+    }
+    
+    private List<RepoPlan> runSequentially(List<String> repos, List<Callable<RepoPlan>> jobs) {
+        List<RepoPlan> plans = new ArrayList<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            try {
+                plans.add(jobs.get(i).call());
+            } catch (Exception e) {
+                plans.add(RepoPlan.failed(repos.get(i), e));
+            }
+        }
+        return plans;
+    }
+    
+    // Detection is network-bound, so repositories are handled on a small bounded pool
+    private List<RepoPlan> runConcurrently(List<String> repos, List<Callable<RepoPlan>> jobs) {
+        int threads = Math.max(1, Math.min(AppConfig.PLAN_MAX_CONCURRENCY, jobs.size()));
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "plan-generator-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        try {
+            List<Future<RepoPlan>> futures = new ArrayList<>();
+            for (Callable<RepoPlan> job : jobs) {
+                futures.add(executor.submit(job));
+            }
             
-            // Generate tasks for each feature
-            generateTasksForFeatures(user, goal, featureArray, projectType, 
-                                    repoHours, startDate, endDate, dailyHours);
+            List<RepoPlan> plans = new ArrayList<>();
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    plans.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    plans.add(RepoPlan.failed(repos.get(i), e.getCause()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    plans.add(RepoPlan.failed(repos.get(i), e));
+                }
+            }
+            return plans;
+        } finally {
+            executor.shutdownNow();
         }
     }
     
-    private void generateTasksForFeatures(User user, Goal goal, String[] features,
-                                         ProjectTypeDetector.ProjectType projectType,
-                                         double totalHours, LocalDate startDate, LocalDate endDate,
-                                         int dailyHours) {  // FIXED: Added dailyHours parameter
+    private RepoPlan buildRepoPlan(User user, String repoName, String priority, String featureList,
+                                  String experienceLevel, int durationMonths, int dailyHours,
+                                  TemplateLibrary library) {
+        // Detect project type
+        long detectStart = System.nanoTime();
+        ProjectTypeDetector.ProjectType projectType = 
+            typeDetector.detectProjectType(user.getAccessToken(), repoName);
+        long detectMillis = (System.nanoTime() - detectStart) / 1_000_000;
         
-        int totalDays = (int) java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate);
-        int currentDay = 0;
+        // Goal is inserted later, together with the rest of the plan
+        long buildStart = System.nanoTime();
+        Goal goal = new Goal(user.getId(), repoName, priority, featureList, 
+                            durationMonths, dailyHours, experienceLevel);
+        System.out.println("? Goal prepared for: " + repoName + " (Type: " + projectType + ")");
+        
+        // Parse features
+        String[] featureArray = featureList.split(",");
+        
+        // Subtasks in order; they get their days once every repository is known
+        List<DailyTask> work = buildWork(library, user, goal, featureArray, projectType, dailyHours);
+        long buildMillis = (System.nanoTime() - buildStart) / 1_000_000;
+        
+        return new RepoPlan(goal, work, getPriorityWeight(priority), projectType, detectMillis, buildMillis);
+    }
+    
+    // The subtasks of every feature, in feature order, without dates.
+    // Package-private so the planner benchmarks can run it without detection or the database.
+    List<DailyTask> buildWork(TemplateLibrary library, User user, Goal goal, String[] features,
+                                      ProjectTypeDetector.ProjectType projectType, int dailyHours) {
+        List<DailyTask> work = new ArrayList<>();
         
         for (String feature : features) {
             feature = feature.trim();
             
             // Find template for this feature
-            FeatureTemplate template = templateLibrary.findTemplate(feature, projectType.toString());
+            FeatureTemplate template = library.findTemplate(feature, projectType.toString());
             
             if (template != null) {
                 // Use template to generate subtasks
                 double featureHours = (template.getBaseHours() * goal.getExperienceMultiplier());
                 
                 for (FeatureTemplate.TaskTemplate subTask : template.getSubTasks()) {
-                    if (currentDay >= totalDays) break;
-                    
-                    LocalDate taskDate = startDate.plusDays(currentDay);
-                    
-                    DailyTask task = new DailyTask();
-                    task.setUserId(user.getId());
-                    task.setGoalId(goal.getId());
-                    task.setRepositoryName(goal.getRepositoryName());
-                    task.setTaskDate(taskDate);
-                    task.setPlannedHours((int) Math.ceil(featureHours * subTask.getWeight()));
-                    task.setPlannedCommits(1);
-                    task.setStatus("PENDING");
-                    task.setDescription(subTask.getDescription() + " for " + feature);
+                    DailyTask task = newTask(user, goal, (int) Math.ceil(featureHours * subTask.getWeight()),
+                                             subTask.getDescription() + " for " + feature);
                     
                     // Store expected file paths (will be used for verification)
                     String[] possibleFiles = subTask.getPossibleFiles();
@@ -111,10 +182,7 @@ public class StudyPlanGenerator {
                                           String.join(", ", possibleFiles));
                     }
                     
-                    taskDAO.save(task);
-                    System.out.println("?? Day " + (currentDay+1) + ": " + task.getDescription());
-                    
-                    currentDay++;
+                    work.add(task);
                 }
             } else {
                 // No template found - create generic tasks
@@ -127,27 +195,39 @@ public class StudyPlanGenerator {
                 };
                 
                 for (String genericTask : genericTasks) {
-                    if (currentDay >= totalDays) break;
-                    
-                    LocalDate taskDate = startDate.plusDays(currentDay);
-                    
-                    DailyTask task = new DailyTask();
-                    task.setUserId(user.getId());
-                    task.setGoalId(goal.getId());
-                    task.setRepositoryName(goal.getRepositoryName());
-                    task.setTaskDate(taskDate);
-                    task.setPlannedHours(dailyHours);
-                    task.setPlannedCommits(1);
-                    task.setStatus("PENDING");
-                    task.setDescription(genericTask);
-                    
-                    taskDAO.save(task);
-                    System.out.println("?? Day " + (currentDay+1) + ": " + genericTask);
-                    
-                    currentDay++;
+                    work.add(newTask(user, goal, dailyHours, genericTask));
                 }
             }
         }
+        return work;
+    }
+    
+    private DailyTask newTask(User user, Goal goal, int plannedHours, String description) {
+        DailyTask task = new DailyTask();
+        task.setUserId(user.getId());
+        task.setGoalId(goal.getId());
+        task.setRepositoryName(goal.getRepositoryName());
+        task.setPlannedHours(plannedHours);
+        task.setPlannedCommits(1);
+        task.setStatus("PENDING");
+        task.setDescription(description);
+        return task;
+    }
+    
+    private void logSchedule(PlanScheduler.Schedule schedule, List<PlanScheduler.Lane> lanes, LocalDate startDate) {
+        for (int lane = 0; lane < lanes.size(); lane++) {
+            for (DailyTask task : schedule.getTasks(lane)) {
+                long day = java.time.temporal.ChronoUnit.DAYS.between(startDate, task.getTaskDate()) + 1;
+                System.out.println("?? Day " + day + ": " + task.getDescription());
+            }
+            System.out.println("?? " + lanes.get(lane).getName() + " finishes on day " +
+                    (schedule.getFinishDay(lane, startDate) + 1));
+        }
+        System.out.println("?? Schedule: " + schedule);
+        if (!schedule.getUnscheduled().isEmpty()) {
+            System.err.println("? " + schedule.getUnscheduled().size() + " subtasks (" + schedule.getUnscheduledHours() +
+                    " h) do not fit before the end date and were left out");
+        }
     }
     
     private double getPriorityWeight(String priority) {
@@ -158,4 +238,46 @@ public class StudyPlanGenerator {
             default: return 1.0;
         }
     }
+    
+    private static class RepoPlan {
+        final Goal goal;
+        final List<DailyTask> work;
+        final double weight;
+        final ProjectTypeDetector.ProjectType projectType;
+        final long detectMillis;
+        final long buildMillis;
+        final PlanGenerationReport.RepoResult failure;
+        
+        RepoPlan(Goal goal, List<DailyTask> work, double weight, ProjectTypeDetector.ProjectType projectType,
+                 long detectMillis, long buildMillis) {
+            this.goal = goal;
+            this.work = work;
+            this.weight = weight;
+            this.projectType = projectType;
+            this.detectMillis = detectMillis;
+            this.buildMillis = buildMillis;
+            this.failure = null;
+        }
+        
+        private RepoPlan(PlanGenerationReport.RepoResult failure) {
+            this.goal = null;
+            this.work = null;
+            this.weight = 0;
+            this.projectType = null;
+            this.detectMillis = 0;
+            this.buildMillis = 0;
+            this.failure = failure;
+        }
+        
+        PlanGenerationReport.RepoResult result(int taskCount) {
+            return new PlanGenerationReport.RepoResult(goal.getRepositoryName(), projectType, taskCount,
+                    detectMillis, buildMillis, null);
+        }
+        
+        static RepoPlan failed(String repoName, Throwable error) {
+            System.err.println("? Plan generation failed for " + repoName + ": " + error);
+            return new RepoPlan(new PlanGenerationReport.RepoResult(
+                    repoName, null, 0, 0, 0, String.valueOf(error.getMessage())));
+        }
+    }
 }
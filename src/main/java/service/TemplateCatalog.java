@@ -0,0 +1,276 @@
+package service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import model.FeatureTemplate;
+import model.FeatureTemplate.TaskTemplate;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * One compiled version of the feature template catalogue.
+ *
+ * A catalogue is built once and never changed afterwards. Templates are copied into
+ * read-only FeatureTemplates backed by exact-size arrays. Every name, file and layer
+ * string goes through one pool per catalogue, so repeated values ("BACKEND",
+ * "validation.js") share a single String. Each distinct template list gets one
+ * TemplateMatcher. A reload builds a new catalogue next to the old one, and plans
+ * that are still using the old one keep it until they finish.
+ *
+ * Catalogue files are JSON:
+ * <pre>
+ * { "version": 2,
+ *   "templates": [
+ *     { "name": "Login System", "baseHours": 8,
+ *       "projectTypes": ["REACT_FRONTEND", "NODE_BACKEND"],
+ *       "aliases": ["login", "sign in"],
+ *       "subtasks": [
+ *         { "description": "Create login form UI", "files": ["Login.jsx"], "weight": 0.15, "layer": "UI" } ] } ] }
+ * </pre>
+ */
+public final class TemplateCatalog {
+
+    private final String version;
+    private final String source;
+    private final Map<String, List<FeatureTemplate>> templatesByType;
+    private final Map<String, TemplateMatcher> matchersByType;
+    private final int templateCount;
+    private final int subTaskCount;
+    private final int stringCount;
+    private final long footprintBytes;
+    private final long loadMillis;
+
+    private TemplateCatalog(Builder builder, String version, String source, long loadMillis) {
+        this.version = version;
+        this.source = source;
+        this.loadMillis = loadMillis;
+
+        // Project types listing the same templates share one list and one matcher
+        Map<List<FeatureTemplate>, List<FeatureTemplate>> lists = new HashMap<>();
+        Map<List<FeatureTemplate>, TemplateMatcher> matchers = new HashMap<>();
+        Map<String, List<FeatureTemplate>> templates = new LinkedHashMap<>();
+        Map<String, TemplateMatcher> byType = new LinkedHashMap<>();
+        Set<FeatureTemplate> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<String, List<FeatureTemplate>> entry : builder.templatesByType.entrySet()) {
+            List<FeatureTemplate> list = lists.computeIfAbsent(entry.getValue(), List::copyOf);
+            templates.put(entry.getKey(), list);
+            byType.put(entry.getKey(), matchers.computeIfAbsent(list, TemplateMatcher::new));
+            distinct.addAll(list);
+        }
+        this.templatesByType = Collections.unmodifiableMap(templates);
+        this.matchersByType = Collections.unmodifiableMap(byType);
+        this.templateCount = distinct.size();
+        this.subTaskCount = distinct.stream().mapToInt(template -> template.getSubTasks().size()).sum();
+        this.stringCount = builder.strings.size();
+        this.footprintBytes = builder.footprint(lists.size());
+    }
+
+    /**
+     * Loads every *.json file of the directory, in file name order. A template with
+     * the same name and project type as an earlier one replaces it, so later files
+     * can override single templates. The version is the highest "version" found plus
+     * a checksum of the file contents.
+     */
+    public static TemplateCatalog load(Path directory) throws IOException {
+        long started = System.nanoTime();
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) files.add(file);
+            }
+        }
+        if (files.isEmpty()) {
+            throw new IOException("No *.json template files in " + directory);
+        }
+        Collections.sort(files);
+
+        Builder builder = new Builder();
+        CRC32 checksum = new CRC32();
+        long highest = 0;
+        for (Path file : files) {
+            byte[] bytes = Files.readAllBytes(file);
+            checksum.update(bytes);
+            try {
+                highest = Math.max(highest, builder.addJson(new String(bytes, StandardCharsets.UTF_8)));
+            } catch (JsonParseException | IllegalStateException | IllegalArgumentException e) {
+                throw new IOException("Invalid template file " + file.getFileName() + ": " + e.getMessage(), e);
+            }
+        }
+        String version = highest + "#" + String.format("%08x", checksum.getValue());
+        return builder.build(version, directory.toString(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public List<FeatureTemplate> getTemplates(String projectType) {
+        return templatesByType.getOrDefault(projectType, List.of());
+    }
+
+    // null when the catalogue has no templates for the project type
+    public TemplateMatcher getMatcher(String projectType) {
+        return matchersByType.get(projectType);
+    }
+
+    public String getVersion() { return version; }
+    public String getSource() { return source; }
+    public int getTemplateCount() { return templateCount; }
+    public int getSubTaskCount() { return subTaskCount; }
+    public int getProjectTypeCount() { return templatesByType.size(); }
+    public long getLoadMillis() { return loadMillis; }
+    // Estimated heap held by the compiled templates and their strings (matchers not included)
+    public long getFootprintBytes() { return footprintBytes; }
+
+    @Override
+    public String toString() {
+        return "catalogue " + version + " from " + source + ": " + templateCount + " templates, "
+                + subTaskCount + " subtasks, " + templatesByType.size() + " project types, "
+                + stringCount + " distinct strings, ~" + (footprintBytes + 1023) / 1024 + " KB, loaded in "
+                + loadMillis + " ms";
+    }
+
+    /**
+     * Collects templates and compiles them into a catalogue. Used for the JSON files
+     * and for the built-in templates alike.
+     */
+    public static final class Builder {
+        private final Map<String, String> strings = new HashMap<>();
+        private final Map<String, List<FeatureTemplate>> templatesByType = new LinkedHashMap<>();
+        private final Map<FeatureTemplate, FeatureTemplate> compiled = new HashMap<>();
+        private long templateBytes;
+
+        // Adds the template for each project type; the template itself is copied, not kept
+        public Builder add(FeatureTemplate template, String... projectTypes) {
+            FeatureTemplate copy = compiled.computeIfAbsent(template, this::compile);
+            for (String projectType : projectTypes) {
+                List<FeatureTemplate> list = templatesByType.computeIfAbsent(intern(projectType), k -> new ArrayList<>());
+                int existing = indexOf(list, copy.getFeatureName());
+                if (existing >= 0) {
+                    list.set(existing, copy);
+                } else {
+                    list.add(copy);
+                }
+            }
+            return this;
+        }
+
+        public TemplateCatalog build(String version, String source, long loadMillis) {
+            return new TemplateCatalog(this, version, source, loadMillis);
+        }
+
+        // One catalogue file; returns its "version" (0 when absent)
+        long addJson(String json) {
+            JsonObject root = JsonParser.parseString(json).getAsJsonObject();
+            JsonArray templates = root.getAsJsonArray("templates");
+            if (templates == null) {
+                throw new IllegalArgumentException("missing \"templates\" array");
+            }
+            for (JsonElement element : templates) {
+                JsonObject item = element.getAsJsonObject();
+                String name = required(item, "name").getAsString();
+                FeatureTemplate template = new FeatureTemplate(name, required(item, "baseHours").getAsDouble());
+                template.addAliases(strings(item.getAsJsonArray("aliases")));
+                JsonArray subtasks = item.getAsJsonArray("subtasks");
+                if (subtasks != null) {
+                    for (JsonElement subtask : subtasks) {
+                        JsonObject task = subtask.getAsJsonObject();
+                        template.addSubTask(new TaskTemplate(
+                                required(task, "description").getAsString(),
+                                strings(task.getAsJsonArray("files")),
+                                required(task, "weight").getAsDouble(),
+                                task.has("layer") ? task.get("layer").getAsString() : "BACKEND"));
+                    }
+                }
+                String[] projectTypes = strings(item.getAsJsonArray("projectTypes"));
+                if (projectTypes.length == 0) {
+                    throw new IllegalArgumentException("template \"" + name + "\" has no projectTypes");
+                }
+                add(template, projectTypes);
+            }
+            return root.has("version") ? root.get("version").getAsLong() : 0;
+        }
+
+        private FeatureTemplate compile(FeatureTemplate template) {
+            List<TaskTemplate> source = template.getSubTasks();
+            TaskTemplate[] subTasks = new TaskTemplate[source.size()];
+            for (int i = 0; i < subTasks.length; i++) {
+                TaskTemplate task = source.get(i);
+                subTasks[i] = new TaskTemplate(intern(task.getDescription()), intern(task.getPossibleFiles()),
+                        task.getWeight(), intern(task.getLayer()));
+                templateBytes += 40 + array(task.getPossibleFiles().length);
+            }
+            String[] aliases = intern(template.getAliases().toArray(new String[0]));
+            templateBytes += 40 + array(subTasks.length) + array(aliases.length) + 2 * 16;
+            return new FeatureTemplate(intern(template.getFeatureName()), template.getBaseHours(), aliases, subTasks);
+        }
+
+        private String intern(String value) {
+            return value == null ? null : strings.computeIfAbsent(value, v -> v);
+        }
+
+        private String[] intern(String[] values) {
+            String[] copy = new String[values.length];
+            for (int i = 0; i < values.length; i++) {
+                copy[i] = intern(values[i]);
+            }
+            return copy;
+        }
+
+        // Shallow sizes with compressed oops: 16-byte headers, 4-byte references, 8-byte alignment
+        private long footprint(int distinctLists) {
+            long bytes = templateBytes + distinctLists * (16 + 16L);
+            for (String value : strings.keySet()) {
+                bytes += 24 + align(16 + value.length()); // Latin-1 strings
+            }
+            for (List<FeatureTemplate> list : templatesByType.values()) {
+                bytes += array(list.size());
+            }
+            return bytes;
+        }
+
+        private static long array(int length) {
+            return align(16 + 4L * length);
+        }
+
+        private static long align(long bytes) {
+            return (bytes + 7) & ~7L;
+        }
+
+        private static int indexOf(List<FeatureTemplate> list, String name) {
+            for (int i = 0; i < list.size(); i++) {
+                if (list.get(i).getFeatureName().equals(name)) return i;
+            }
+            return -1;
+        }
+
+        private static JsonElement required(JsonObject object, String field) {
+            JsonElement value = object.get(field);
+            if (value == null || value.isJsonNull()) {
+                throw new IllegalArgumentException("missing \"" + field + "\"");
+            }
+            return value;
+        }
+
+        private static String[] strings(JsonArray array) {
+            if (array == null) return new String[0];
+            String[] values = new String[array.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = array.get(i).getAsString();
+            }
+            return values;
+        }
+    }
+}
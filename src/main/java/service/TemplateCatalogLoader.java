@@ -0,0 +1,165 @@
+package service;
+
+import config.AppConfig;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the template catalogue that every TemplateLibrary reads.
+ *
+ * The catalogue comes from the *.json files in templates.catalogDir, or from the
+ * built-in templates when the directory is missing, empty or invalid. With
+ * templates.reload=true a daemon thread watches the directory. When files change,
+ * it loads a new catalogue and swaps it in with one volatile write. Readers never
+ * wait for a reload. A plan that pinned the previous catalogue keeps using it. A
+ * catalogue that fails to load is reported, and the current one stays in place.
+ */
+public class TemplateCatalogLoader {
+
+    private static final long SETTLE_MS = 300; // editors write a file in several steps
+    private static final int HISTORY_SIZE = 20;
+
+    private static TemplateCatalogLoader instance;
+
+    private final Path directory;
+    private volatile TemplateCatalog current;
+    private final List<String> history = new ArrayList<>();
+    private WatchService watchService;
+
+    public static synchronized TemplateCatalogLoader getInstance() {
+        if (instance == null) {
+            instance = new TemplateCatalogLoader(AppConfig.TEMPLATES_CATALOG_DIR.isEmpty()
+                    ? null : Paths.get(AppConfig.TEMPLATES_CATALOG_DIR));
+            if (AppConfig.TEMPLATES_RELOAD) {
+                instance.startWatching();
+            }
+        }
+        return instance;
+    }
+
+    // A null directory means built-in templates only
+    public TemplateCatalogLoader(Path directory) {
+        this.directory = directory;
+        this.current = loadOrFallback();
+    }
+
+    public TemplateCatalog current() {
+        return current;
+    }
+
+    /**
+     * Loads the directory again and swaps the result in if it differs from the current
+     * catalogue. Returns the catalogue in use afterwards.
+     */
+    public synchronized TemplateCatalog reload() {
+        if (directory == null) return current;
+        try {
+            TemplateCatalog loaded = TemplateCatalog.load(directory);
+            if (loaded.getVersion().equals(current.getVersion())) {
+                return current;
+            }
+            TemplateCatalog previous = current;
+            current = loaded;
+            record(loaded);
+            System.out.println("?? Template catalogue " + previous.getVersion() + " -> " + loaded.getVersion());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("? Template catalogue reload failed, keeping " + current.getVersion() + ": " + e.getMessage());
+        }
+        return current;
+    }
+
+    // Load reports of every catalogue version this loader has used, oldest first
+    public synchronized List<String> getHistory() {
+        return new ArrayList<>(history);
+    }
+
+    public synchronized void startWatching() {
+        if (directory == null || watchService != null) return;
+        if (!Files.isDirectory(directory)) {
+            System.err.println("? Template catalogue directory " + directory.toAbsolutePath() + " not found; not watching");
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            System.err.println("? Cannot watch template catalogue directory " + directory + ": " + e.getMessage());
+            watchService = null;
+            return;
+        }
+        WatchService service = watchService;
+        Thread watcher = new Thread(() -> watch(service), "template-catalog-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    public synchronized void stopWatching() {
+        if (watchService == null) return;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // closing only wakes the watcher thread
+        }
+        watchService = null;
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                // Let a burst of events settle, then reload once for all of them
+                do {
+                    key.pollEvents();
+                    if (!key.reset()) {
+                        System.err.println("? Template catalogue directory " + directory + " is gone; keeping "
+                                + current.getVersion());
+                        return;
+                    }
+                    key = service.poll(SETTLE_MS, TimeUnit.MILLISECONDS);
+                } while (key != null);
+                reload();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // stopped
+        }
+    }
+
+    private TemplateCatalog loadOrFallback() {
+        TemplateCatalog catalog = null;
+        if (directory != null && Files.isDirectory(directory)) {
+            try {
+                catalog = TemplateCatalog.load(directory);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("? Template catalogue " + directory + " could not be loaded: " + e.getMessage());
+            }
+        } else if (directory != null) {
+            System.out.println("?? Template catalogue directory " + directory.toAbsolutePath() + " not found");
+        }
+        if (catalog == null) {
+            catalog = TemplateLibrary.builtInCatalog();
+        }
+        record(catalog);
+        return catalog;
+    }
+
+    private synchronized void record(TemplateCatalog catalog) {
+        String report = catalog.toString();
+        history.add(report);
+        if (history.size() > HISTORY_SIZE) {
+            history.remove(0);
+        }
+        System.out.println("?? Template " + report);
+    }
+}
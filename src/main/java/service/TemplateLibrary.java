@@ -6,19 +6,39 @@ import java.util.*;
 
 public class TemplateLibrary {
     
-    private Map<String, List<FeatureTemplate>> templatesByType;
+    private final TemplateCatalogLoader loader;
+    private final TemplateCatalog pinned;
     
+    // Follows the shared catalogue, including reloads
     public TemplateLibrary() {
-        templatesByType = new HashMap<>();
-        initializeTemplates();
+        this.loader = TemplateCatalogLoader.getInstance();
+        this.pinned = null;
     }
     
-    private void initializeTemplates() {
-        // Web Frontend Templates
-        List<FeatureTemplate> webTemplates = new ArrayList<>();
+    // Always uses this catalogue, whatever is loaded later
+    public TemplateLibrary(TemplateCatalog catalog) {
+        this.loader = null;
+        this.pinned = catalog;
+    }
+    
+    public TemplateCatalog getCatalog() {
+        return pinned != null ? pinned : loader.current();
+    }
+    
+    // A library fixed to the current catalogue, so one plan sees one catalogue version
+    public TemplateLibrary snapshot() {
+        return new TemplateLibrary(getCatalog());
+    }
+    
+    // The templates that used to be hard-coded here; used when no catalogue directory can be loaded
+    static TemplateCatalog builtInCatalog() {
+        long started = System.nanoTime();
+        TemplateCatalog.Builder catalog = new TemplateCatalog.Builder();
         
+        // Web Frontend Templates
         // Login Feature Template
         FeatureTemplate loginFeature = new FeatureTemplate("Login System", 8);
+        loginFeature.addAliases("login", "log in", "sign in", "signin", "sign up", "authentication", "auth");
         loginFeature.addSubTask(new TaskTemplate(
             "Create login form UI", 
             new String[]{"Login.jsx", "Login.tsx", "login.html", "Login.vue"},
@@ -49,10 +69,11 @@ public class TemplateLibrary {
             new String[]{"auth.test.js", "Login.test.jsx"},
             0.10, "TESTING"
         ));
-        webTemplates.add(loginFeature);
+        catalog.add(loginFeature, "REACT_FRONTEND", "NODE_BACKEND");
         
         // CRUD Feature Template
         FeatureTemplate crudFeature = new FeatureTemplate("CRUD Operations", 12);
+        crudFeature.addAliases("crud", "create read update delete", "data management");
         crudFeature.addSubTask(new TaskTemplate(
             "Design data model",
             new String[]{"model.js", "schema.sql", "entity.java"},
@@ -83,16 +104,12 @@ public class TemplateLibrary {
             new String[]{"api.test.js", "crud.test.js"},
             0.05, "TESTING"
         ));
-        webTemplates.add(crudFeature);
-        
-        templatesByType.put("REACT_FRONTEND", webTemplates);
-        templatesByType.put("NODE_BACKEND", webTemplates);
+        catalog.add(crudFeature, "REACT_FRONTEND", "NODE_BACKEND");
         
         // Java Backend Templates
-        List<FeatureTemplate> javaTemplates = new ArrayList<>();
-        
         // REST API Feature Template
         FeatureTemplate restFeature = new FeatureTemplate("REST API", 10);
+        restFeature.addAliases("rest", "api", "endpoint", "web service");
         restFeature.addSubTask(new TaskTemplate(
             "Create Controller class",
             new String[]{"Controller.java", "Resource.java", "Endpoint.java"},
@@ -123,23 +140,24 @@ public class TemplateLibrary {
             new String[]{"Test.java", "ControllerTest.java"},
             0.10, "TESTING"
         ));
-        javaTemplates.add(restFeature);
+        catalog.add(restFeature, "SPRING_BOOT", "JAVA_BACKEND");
         
-        templatesByType.put("SPRING_BOOT", javaTemplates);
-        templatesByType.put("JAVA_BACKEND", javaTemplates);
+        return catalog.build("built-in", "TemplateLibrary", (System.nanoTime() - started) / 1_000_000);
     }
     
     public List<FeatureTemplate> getTemplatesForProject(String projectType) {
-        return templatesByType.getOrDefault(projectType, new ArrayList<>());
+        return getCatalog().getTemplates(projectType);
     }
     
+    // Best template named in the feature text, or null for generic tasks
     public FeatureTemplate findTemplate(String featureName, String projectType) {
-        List<FeatureTemplate> templates = getTemplatesForProject(projectType);
-        for (FeatureTemplate template : templates) {
-            if (featureName.toLowerCase().contains(template.getFeatureName().toLowerCase())) {
-                return template;
-            }
-        }
-        return null;
+        TemplateMatcher matcher = getCatalog().getMatcher(projectType);
+        return matcher != null ? matcher.findBest(featureName) : null;
+    }
+    
+    // Every template mentioned in the text ("Login and CRUD for admins"), best first
+    public List<TemplateMatcher.Match> matchTemplates(String features, String projectType) {
+        TemplateMatcher matcher = getCatalog().getMatcher(projectType);
+        return matcher != null ? matcher.match(features) : new ArrayList<>();
     }
 }
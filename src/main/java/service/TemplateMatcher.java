@@ -0,0 +1,234 @@
+package service;
+
+import model.FeatureTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the feature templates mentioned in free text ("Login and CRUD for admins").
+ *
+ * Template names and aliases are split into words and compiled once into an
+ * Aho–Corasick automaton over word ids. A query is tokenized and walked through the
+ * automaton in one pass, however many templates there are. Words are lowercased and
+ * plurals folded ("Operations" matches "operation"), and phrases match on whole
+ * words only.
+ *
+ * Matches are ranked by phrase length in words, then by whether the template name
+ * (rather than an alias) matched, then by position in the text, then by catalogue order.
+ */
+public class TemplateMatcher {
+
+    private final List<FeatureTemplate> templates;
+    private final Map<String, Integer> wordIds = new HashMap<>();
+    private final List<Phrase> phrases = new ArrayList<>();
+
+    // Automaton; node 0 is the root
+    private final List<Map<Integer, Integer>> children = new ArrayList<>();
+    private int[] fail;
+    private int[][] output; // phrase indices ending at each node, suffix matches included
+
+    public TemplateMatcher(List<FeatureTemplate> templates) {
+        this.templates = new ArrayList<>(templates);
+        children.add(new HashMap<>());
+        for (int i = 0; i < this.templates.size(); i++) {
+            FeatureTemplate template = this.templates.get(i);
+            addPhrase(template.getFeatureName(), i, true);
+            for (String alias : template.getAliases()) {
+                addPhrase(alias, i, false);
+            }
+        }
+        link();
+    }
+
+    // Best match for the text, or null when no template is mentioned
+    public FeatureTemplate findBest(String text) {
+        List<Match> matches = match(text);
+        return matches.isEmpty() ? null : matches.get(0).getTemplate();
+    }
+
+    // Every template mentioned in the text, best first, one entry per template
+    public List<Match> match(String text) {
+        List<String> words = tokenize(text);
+        Map<Integer, Match> best = null; // only templates actually hit, so the cost does not grow with the catalogue
+
+        int state = 0;
+        for (int position = 0; position < words.size(); position++) {
+            Integer word = wordIds.get(words.get(position));
+            if (word == null) {
+                state = 0; // a word no phrase contains breaks every partial match
+                continue;
+            }
+            state = step(state, word);
+            for (int p : output[state]) {
+                Phrase phrase = phrases.get(p);
+                int start = position - phrase.length + 1;
+                Match candidate = new Match(templates.get(phrase.template), phrase.text, phrase.length,
+                        phrase.isName, start, phrase.template);
+                if (best == null) best = new HashMap<>();
+                best.merge(phrase.template, candidate, (current, found) -> found.compareTo(current) < 0 ? found : current);
+            }
+        }
+
+        if (best == null) return new ArrayList<>();
+        List<Match> matches = new ArrayList<>(best.values());
+        matches.sort(null);
+        return matches;
+    }
+
+    public int getTemplateCount() {
+        return templates.size();
+    }
+
+    public int getPhraseCount() {
+        return phrases.size();
+    }
+
+    private int step(int state, int word) {
+        while (true) {
+            Integer next = children.get(state).get(word);
+            if (next != null) return next;
+            if (state == 0) return 0;
+            state = fail[state];
+        }
+    }
+
+    private void addPhrase(String text, int template, boolean isName) {
+        List<String> words = tokenize(text);
+        if (words.isEmpty()) return;
+        int node = 0;
+        for (String word : words) {
+            int id = wordIds.computeIfAbsent(word, k -> wordIds.size());
+            Integer next = children.get(node).get(id);
+            if (next == null) {
+                next = children.size();
+                children.add(new HashMap<>());
+                children.get(node).put(id, next);
+            }
+            node = next;
+        }
+        phrases.add(new Phrase(text, template, words.size(), isName, node));
+    }
+
+    // Breadth-first failure links; outputs are merged along them so matching never chases links
+    private void link() {
+        int nodes = children.size();
+        fail = new int[nodes];
+        List<List<Integer>> ends = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; i++) {
+            ends.add(new ArrayList<>());
+        }
+        for (int p = 0; p < phrases.size(); p++) {
+            ends.get(phrases.get(p).node).add(p);
+        }
+
+        output = new int[nodes][];
+        output[0] = new int[0];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int child : children.get(0).values()) {
+            fail[child] = 0;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            int[] own = ends.get(node).stream().mapToInt(Integer::intValue).toArray();
+            int[] inherited = output[fail[node]];
+            int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+            System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+            output[node] = merged;
+
+            for (Map.Entry<Integer, Integer> edge : children.get(node).entrySet()) {
+                int child = edge.getValue();
+                fail[child] = node == 0 ? 0 : step(fail[node], edge.getKey());
+                queue.add(child);
+            }
+        }
+    }
+
+    // Lowercase letter/digit runs with a simple plural fold
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) return words;
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                words.add(fold(word));
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    private static String fold(StringBuilder word) {
+        int n = word.length();
+        if (n > 3 && word.charAt(n - 1) == 's' && word.charAt(n - 2) != 's') {
+            n--;
+        }
+        return word.substring(0, n);
+    }
+
+    private static class Phrase {
+        final String text;
+        final int template;
+        final int length;
+        final boolean isName;
+        final int node;
+
+        Phrase(String text, int template, int length, boolean isName, int node) {
+            this.text = text;
+            this.template = template;
+            this.length = length;
+            this.isName = isName;
+            this.node = node;
+        }
+    }
+
+    /**
+     * One template found in the text. Ordered best first.
+     */
+    public static class Match implements Comparable<Match> {
+        private final FeatureTemplate template;
+        private final String phrase;
+        private final int words;
+        private final boolean nameMatch;
+        private final int position;
+        private final int catalogueIndex;
+
+        Match(FeatureTemplate template, String phrase, int words, boolean nameMatch, int position, int catalogueIndex) {
+            this.template = template;
+            this.phrase = phrase;
+            this.words = words;
+            this.nameMatch = nameMatch;
+            this.position = position;
+            this.catalogueIndex = catalogueIndex;
+        }
+
+        public FeatureTemplate getTemplate() { return template; }
+        // The name or alias that matched
+        public String getPhrase() { return phrase; }
+        public int getWords() { return words; }
+        public boolean isNameMatch() { return nameMatch; }
+        // Index of the first matched word in the text
+        public int getPosition() { return position; }
+
+        @Override
+        public int compareTo(Match other) {
+            if (words != other.words) return Integer.compare(other.words, words);
+            if (nameMatch != other.nameMatch) return nameMatch ? -1 : 1;
+            if (position != other.position) return Integer.compare(position, other.position);
+            return Integer.compare(catalogueIndex, other.catalogueIndex);
+        }
+
+        @Override
+        public String toString() {
+            return template.getFeatureName() + " (\"" + phrase + "\" at word " + position + ")";
+        }
+    }
+}
@@ -2,13 +2,17 @@ package ui;
 
 import model.User;
 import model.DailyTask;
+import model.TaskAggregate;
+import util.ActivityCalendar;
 import dao.StudyTaskDAO;
+import dao.TaskQuery;
 import dao.GoalDAO;
+import service.ActivityCalendarService;
+import service.AnalysisService;
 import service.GitHubCommitChecker;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 import java.time.LocalDate;
@@ -20,9 +24,10 @@ public class DashboardFrame extends JPanel {
     private User user;
     private StudyTaskDAO studyTaskDAO;
     private GoalDAO goalDAO;
+    private AnalysisService analysisService;
     private JPanel statsPanel;
     private JTable taskTable;
-    private DefaultTableModel tableModel;
+    private TaskTableModel tableModel;
     private JLabel progressLabel;
     private JLabel todayTasksLabel;
     private JLabel completedLabel;
@@ -40,6 +45,7 @@ public class DashboardFrame extends JPanel {
     public DashboardFrame(User user) {
         this.user = user;
         this.studyTaskDAO = new StudyTaskDAO();
+        this.analysisService = new AnalysisService();
         this.goalDAO = new GoalDAO();
         setLayout(new BorderLayout(0, 20));
         setBackground(BG_LIGHT);
@@ -159,12 +165,7 @@ public class DashboardFrame extends JPanel {
         
         // Create table
         String[] columns = {"Date", "Repository", "Status", "Planned", "Actual", "Commits"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new TaskTableModel(columns, "h");
         
         taskTable = new JTable(tableModel);
         taskTable.setFont(new Font("Segoe UI", Font.PLAIN, 13));
@@ -279,48 +280,12 @@ public class DashboardFrame extends JPanel {
     private void loadTasks() {
         checkGitHubCommits();
         
-        List<DailyTask> tasks = studyTaskDAO.findByUserId(user.getId());
-        tableModel.setRowCount(0);
-        
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        LocalDate today = LocalDate.now();
-        int completed = 0;
-        int total = tasks.size();
-        int streak = 0;
-        int todayCount = 0;
-        
-        tasks.sort((t1, t2) -> t2.getTaskDate().compareTo(t1.getTaskDate()));
-        
-        for (DailyTask task : tasks) {
-            if (task.getTaskDate().isAfter(today.minusDays(30))) {
-                tableModel.addRow(new Object[]{
-                    task.getTaskDate().format(formatter),
-                    task.getRepositoryName(),
-                    task.getStatus(),
-                    task.getPlannedHours() + "h",
-                    task.getActualHours() + "h",
-                    task.getActualCommits() + "/" + task.getPlannedCommits()
-                });
-            }
-            
-            if (task.isCompleted()) {
-                completed++;
-                if (task.getTaskDate().equals(today.minusDays(streak))) {
-                    streak++;
-                }
-            }
-            
-            if (task.getTaskDate().equals(today)) {
-                todayCount++;
-            }
-        }
-        
-        todayTasksLabel.setText(String.valueOf(todayCount));
-        completedLabel.setText(String.valueOf(completed));
+        // Streak: consecutive days back from today that have a completed task
+        int streak = ActivityCalendarService.getInstance().getUserCalendar(user.getId())
+            .currentStreak(ActivityCalendar.Flag.COMPLETED, LocalDate.now());
         streakLabel.setText(streak + " days");
         
-        int progress = total > 0 ? (completed * 100 / total) : 0;
-        progressLabel.setText(progress + "%");
+        refreshDisplay();
     }
     
     private void checkGitHubCommits() {
@@ -341,32 +306,19 @@ public class DashboardFrame extends JPanel {
     }
     
     private void refreshDisplay() {
-        List<DailyTask> tasks = studyTaskDAO.findByUserId(user.getId());
-        tableModel.setRowCount(0);
-        
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
         LocalDate today = LocalDate.now();
-        int completed = 0;
-        int total = tasks.size();
-        int todayCount = 0;
-        
-        tasks.sort((t1, t2) -> t2.getTaskDate().compareTo(t1.getTaskDate()));
-        
-        for (DailyTask task : tasks) {
-            if (task.getTaskDate().isAfter(today.minusDays(30))) {
-                tableModel.addRow(new Object[]{
-                    task.getTaskDate().format(formatter),
-                    task.getRepositoryName(),
-                    task.getStatus(),
-                    task.getPlannedHours() + "h",
-                    task.getActualHours() + "h",
-                    task.getActualCommits() + "/" + task.getPlannedCommits()
-                });
-            }
-            
-            if (task.isCompleted()) completed++;
-            if (task.getTaskDate().equals(today)) todayCount++;
-        }
+        
+        // The table shows the last 30 days (and anything planned ahead); totals come from counts
+        List<DailyTask> tasks = studyTaskDAO.find(TaskQuery.forUser(user.getId())
+            .from(today.minusDays(29))
+            .columns("repository_name", "status", "planned_hours", "actual_hours", "planned_commits", "actual_commits")
+            .descending());
+        TaskAggregate totals = analysisService.getTotals(user.getId());
+        int total = totals.getTaskCount();
+        int completed = totals.getCompletedCount();
+        int todayCount = studyTaskDAO.count(TaskQuery.forUser(user.getId()).on(today));
+        
+        tableModel.setTasks(tasks);
         
         todayTasksLabel.setText(String.valueOf(todayCount));
         completedLabel.setText(String.valueOf(completed));
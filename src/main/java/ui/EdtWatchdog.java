@@ -0,0 +1,349 @@
+package ui;
+
+import config.AppConfig;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures how long the Event Dispatch Thread spends on each event.
+ *
+ * A timing EventQueue records every dispatch in a latency histogram. A daemon thread
+ * samples the EDT while a dispatch runs; once one exceeds ui.edt.stallThresholdMs its
+ * stack is captured, so the stall is logged with the code that caused it. Stalls are
+ * attributed to the first ui.* class on that stack (DashboardFrame, ITStudyPlannerFrame,
+ * ...), falling back to the window the event was aimed at.
+ *
+ * report() returns the histogram and the worst offenders per frame; with app.debug=true,
+ * Ctrl+Shift+D opens the same report in a developer panel.
+ */
+public final class EdtWatchdog {
+
+    // Upper bounds of the histogram buckets in ms; the last bucket is everything slower
+    private static final long[] BUCKET_MS = {1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024, 2048, 4096};
+    private static final int SAMPLE_MS = 20;
+    private static final int LOGGED_STACK_DEPTH = 8;
+
+    private static final Object lock = new Object();
+    private static final long[] histogram = new long[BUCKET_MS.length + 1];
+    private static final Map<String, FrameStats> byFrame = new HashMap<>();
+    private static long eventCount;
+    private static volatile int stallCount;
+    private static volatile long worstStallMs;
+    private static volatile long totalStallMs;
+
+    // State of the dispatch in progress; written on the EDT, read by the sampler
+    private static volatile Thread edt;
+    private static volatile long dispatchStart; // 0 while idle
+    private static volatile long activeSeq;
+    private static volatile long capturedSeq;
+    private static volatile StackTraceElement[] capturedStack;
+    private static long dispatchSeq;
+    // Dispatches in progress, innermost first; more than one while a modal dialog pumps events (EDT only)
+    private static final ArrayDeque<Dispatch> dispatches = new ArrayDeque<>();
+
+    private static boolean installed;
+
+    private EdtWatchdog() {
+    }
+
+    // Idempotent; safe to call from any thread
+    public static void install() {
+        synchronized (lock) {
+            if (installed || !AppConfig.UI_EDT_WATCHDOG_ENABLED) return;
+            installed = true;
+        }
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new TimingEventQueue());
+
+        Thread sampler = new Thread(EdtWatchdog::sample, "edt-watchdog");
+        sampler.setDaemon(true);
+        sampler.start();
+        System.out.println("?? EDT watchdog installed (stall threshold " + AppConfig.UI_EDT_STALL_THRESHOLD_MS + " ms)");
+    }
+
+    public static boolean isInstalled() {
+        synchronized (lock) {
+            return installed;
+        }
+    }
+
+    public static int getStallCount() {
+        return stallCount;
+    }
+
+    public static long getWorstStallMs() {
+        return worstStallMs;
+    }
+
+    public static long getTotalStallMs() {
+        return totalStallMs;
+    }
+
+    public static void reset() {
+        synchronized (lock) {
+            Arrays.fill(histogram, 0);
+            byFrame.clear();
+            eventCount = 0;
+            stallCount = 0;
+            worstStallMs = 0;
+            totalStallMs = 0;
+        }
+    }
+
+    public static String report() {
+        StringBuilder sb = new StringBuilder();
+        synchronized (lock) {
+            sb.append("EDT dispatch latency (").append(eventCount).append(" events, ")
+              .append(stallCount).append(" stalls, worst ").append(worstStallMs).append(" ms, ")
+              .append(totalStallMs).append(" ms blocked)\n");
+            long lower = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                if (histogram[i] > 0) {
+                    String range = i < BUCKET_MS.length
+                        ? String.format("%5d-%-5d ms", lower, BUCKET_MS[i])
+                        : String.format("   >%-6d ms", BUCKET_MS[BUCKET_MS.length - 1]);
+                    sb.append("  ").append(range).append(String.format("%10d%n", histogram[i]));
+                }
+                if (i < BUCKET_MS.length) lower = BUCKET_MS[i];
+            }
+
+            List<FrameStats> frames = new ArrayList<>(byFrame.values());
+            frames.sort((a, b) -> Long.compare(b.worstMs, a.worstMs));
+            sb.append("\nWorst offenders per frame\n");
+            if (frames.isEmpty()) {
+                sb.append("  none\n");
+            }
+            for (FrameStats frame : frames) {
+                sb.append(String.format("  %-28s %4d stalls, worst %6d ms, total %7d ms%n",
+                    frame.name, frame.stalls, frame.worstMs, frame.totalMs));
+                if (frame.worstStack != null) {
+                    for (String line : frame.worstStack) {
+                        sb.append("      at ").append(line).append('\n');
+                    }
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    public static void showPanel(Component parent) {
+        JTextArea text = new JTextArea(report(), 30, 100);
+        text.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        text.setEditable(false);
+
+        JButton refreshBtn = new JButton("Refresh");
+        refreshBtn.addActionListener(e -> text.setText(report()));
+        JButton resetBtn = new JButton("Reset");
+        resetBtn.addActionListener(e -> {
+            reset();
+            text.setText(report());
+        });
+
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(refreshBtn);
+        buttons.add(resetBtn);
+
+        Window owner = parent instanceof Window ? (Window) parent
+            : parent != null ? SwingUtilities.getWindowAncestor(parent) : null;
+        JDialog dialog = new JDialog(owner, "EDT Responsiveness", Dialog.ModalityType.MODELESS);
+        dialog.add(new JScrollPane(text), BorderLayout.CENTER);
+        dialog.add(buttons, BorderLayout.SOUTH);
+        dialog.pack();
+        dialog.setLocationRelativeTo(owner);
+        dialog.setVisible(true);
+    }
+
+    private static void sample() {
+        while (true) {
+            try {
+                Thread.sleep(SAMPLE_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long start = dispatchStart;
+            long seq = activeSeq;
+            Thread thread = edt;
+            if (start == 0 || thread == null || capturedSeq == seq) continue;
+            if ((System.nanoTime() - start) / 1_000_000 > AppConfig.UI_EDT_STALL_THRESHOLD_MS) {
+                StackTraceElement[] stack = thread.getStackTrace();
+                // The dispatch may have finished while we were sampling
+                if (activeSeq == seq) {
+                    capturedStack = stack;
+                    capturedSeq = seq;
+                }
+            }
+        }
+    }
+
+    // Called on the EDT after each dispatch
+    private static void record(AWTEvent event, StackTraceElement[] stack, long elapsedMs) {
+        boolean stall = elapsedMs > AppConfig.UI_EDT_STALL_THRESHOLD_MS;
+        String frame = null;
+        List<String> appFrames = null;
+        if (stall) {
+            appFrames = appFrames(stack);
+            frame = frameName(stack, event);
+        }
+
+        synchronized (lock) {
+            eventCount++;
+            int bucket = 0;
+            while (bucket < BUCKET_MS.length && elapsedMs > BUCKET_MS[bucket]) bucket++;
+            histogram[bucket]++;
+            if (!stall) return;
+
+            stallCount++;
+            totalStallMs += elapsedMs;
+            worstStallMs = Math.max(worstStallMs, elapsedMs);
+            FrameStats stats = byFrame.computeIfAbsent(frame, FrameStats::new);
+            stats.stalls++;
+            stats.totalMs += elapsedMs;
+            if (elapsedMs > stats.worstMs) {
+                stats.worstMs = elapsedMs;
+                stats.worstStack = appFrames;
+            }
+        }
+
+        System.out.println("?? EDT stalled for " + elapsedMs + " ms in " + frame +
+            (appFrames != null && !appFrames.isEmpty() ? " at " + appFrames.get(0) : ""));
+    }
+
+    // Stack frames from this application (not JDK or library code), innermost first
+    private static List<String> appFrames(StackTraceElement[] stack) {
+        if (stack == null) return null;
+        List<String> frames = new ArrayList<>();
+        for (StackTraceElement element : stack) {
+            String cls = element.getClassName();
+            if (cls.startsWith("ui.EdtWatchdog")) continue;
+            if (cls.startsWith("ui.") || cls.startsWith("service.") || cls.startsWith("dao.")
+                    || cls.startsWith("db.") || cls.startsWith("util.") || cls.startsWith("app.")) {
+                frames.add(element.toString());
+                if (frames.size() == LOGGED_STACK_DEPTH) break;
+            }
+        }
+        return frames;
+    }
+
+    private static String frameName(StackTraceElement[] stack, AWTEvent event) {
+        if (stack != null) {
+            for (StackTraceElement element : stack) {
+                String cls = element.getClassName();
+                if (cls.startsWith("ui.") && !cls.startsWith("ui.EdtWatchdog")) {
+                    String name = cls.substring(3);
+                    int nested = name.indexOf('$');
+                    return nested >= 0 ? name.substring(0, nested) : name;
+                }
+            }
+        }
+        Object source = event.getSource();
+        if (source instanceof Component) {
+            Window window = source instanceof Window ? (Window) source : SwingUtilities.getWindowAncestor((Component) source);
+            if (window != null) return window.getClass().getSimpleName();
+        }
+        return "(no window)";
+    }
+
+    private static class FrameStats {
+        final String name;
+        int stalls;
+        long worstMs;
+        long totalMs;
+        List<String> worstStack;
+
+        FrameStats(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class Dispatch {
+        final long seq;
+        final long start;
+        long pumpStart; // when a nested loop (modal dialog) first waited for an event, 0 if none
+        long resumed;   // when the nested loop last handed control back
+        StackTraceElement[] stack;
+
+        Dispatch(long seq, long start) {
+            this.seq = seq;
+            this.start = start;
+        }
+
+        void pumping(long now) {
+            if (pumpStart == 0) pumpStart = now;
+        }
+
+        // The dispatch's own time: up to the nested loop, and after it
+        long elapsedMs(long end) {
+            long nanos = pumpStart == 0 ? end - start : (pumpStart - start) + (end - resumed);
+            return nanos / 1_000_000;
+        }
+    }
+
+    private static class TimingEventQueue extends EventQueue {
+        // Only a nested loop asks for the next event while a dispatch is in progress
+        @Override
+        public AWTEvent getNextEvent() throws InterruptedException {
+            Dispatch outer = Thread.currentThread() == edt ? dispatches.peek() : null;
+            if (outer == null) {
+                return super.getNextEvent();
+            }
+            outer.pumping(System.nanoTime());
+            if (outer.stack == null && capturedSeq == outer.seq) outer.stack = capturedStack;
+            dispatchStart = 0; // waiting for the dialog is not a stall
+            try {
+                return super.getNextEvent();
+            } finally {
+                outer.resumed = System.nanoTime();
+                dispatchStart = outer.resumed;
+            }
+        }
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            if (AppConfig.APP_DEBUG && event instanceof KeyEvent && isPanelShortcut((KeyEvent) event)) {
+                showPanel(KeyboardFocusManager.getCurrentKeyboardFocusManager().getActiveWindow());
+                return;
+            }
+
+            long start = System.nanoTime();
+            Dispatch outer = dispatches.peek();
+            if (outer != null) {
+                // A modal dialog is pumping events inside the outer dispatch. The wait for
+                // the dialog is not the outer dispatch's time, the work before it is.
+                outer.pumping(start);
+                if (outer.stack == null && capturedSeq == outer.seq) outer.stack = capturedStack;
+            }
+            Dispatch current = new Dispatch(++dispatchSeq, start);
+            dispatches.push(current);
+            edt = Thread.currentThread();
+            dispatchStart = 0;
+            activeSeq = current.seq;
+            dispatchStart = start;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                long end = System.nanoTime();
+                dispatches.pop();
+                dispatchStart = 0;
+                if (outer != null) {
+                    outer.resumed = end;
+                    activeSeq = outer.seq;
+                    dispatchStart = end;
+                }
+                if (current.stack == null && capturedSeq == current.seq) current.stack = capturedStack;
+                record(event, current.stack, current.elapsedMs(end));
+            }
+        }
+
+        private static boolean isPanelShortcut(KeyEvent key) {
+            return key.getID() == KeyEvent.KEY_PRESSED && key.getKeyCode() == KeyEvent.VK_D
+                && key.isControlDown() && key.isShiftDown();
+        }
+    }
+}
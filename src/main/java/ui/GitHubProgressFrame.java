@@ -2,32 +2,41 @@ package ui;
 
 import model.User;
 import model.Goal;
-import model.DailyTask;
+import model.TaskAggregate;
 import dao.GoalDAO;
-import dao.StudyTaskDAO;
+import service.ActivityCalendarService;
+import service.AnalysisService;
 import service.GitHubCommitChecker;
+import util.ActivityCalendar;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
+import javax.swing.table.AbstractTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.JTableHeader;
 import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.List;
 import java.util.ArrayList;
-import java.util.Map;
 import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
 
 public class GitHubProgressFrame extends JPanel {
 
     private User user;
     private GoalDAO goalDAO;
-    private StudyTaskDAO taskDAO;
+    private AnalysisService analysisService;
     private GitHubCommitChecker commitChecker;
     private JTable progressTable;
-    private DefaultTableModel tableModel;
+    private RepoProgressModel tableModel;
+    private JButton refreshBtn;
+    private JButton cancelBtn;
+    private JProgressBar refreshProgress;
+    private JLabel refreshStatusLabel;
+    private RefreshWorker refreshWorker;
     private JLabel totalCommitsLabel;
     private JLabel activeReposLabel;
     private JLabel streakLabel;
@@ -45,7 +54,7 @@ public class GitHubProgressFrame extends JPanel {
     public GitHubProgressFrame(User user) {
         this.user = user;
         this.goalDAO = new GoalDAO();
-        this.taskDAO = new StudyTaskDAO();
+        this.analysisService = new AnalysisService();
         this.commitChecker = new GitHubCommitChecker();
 
         setLayout(new BorderLayout(0, 20));
@@ -165,13 +174,7 @@ public class GitHubProgressFrame extends JPanel {
         titleLabel.setForeground(new Color(17, 24, 39));
 
         // Create table
-        String[] columns = {"Repository", "Progress", "Last Commit", "Status"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new RepoProgressModel();
 
         progressTable = new JTable(tableModel);
         progressTable.setFont(new Font("Segoe UI", Font.PLAIN, 13));
@@ -208,7 +211,7 @@ public class GitHubProgressFrame extends JPanel {
         topPanel.setBackground(CARD_BG);
         topPanel.add(titleLabel, BorderLayout.WEST);
 
-        JButton refreshBtn = new JButton("Refresh");
+        refreshBtn = new JButton("Refresh");
         refreshBtn.setFont(new Font("Segoe UI", Font.PLAIN, 12));
         refreshBtn.setBackground(CARD_BG);
         refreshBtn.setBorder(BorderFactory.createLineBorder(BORDER_COLOR));
@@ -216,7 +219,31 @@ public class GitHubProgressFrame extends JPanel {
         refreshBtn.setCursor(new Cursor(Cursor.HAND_CURSOR));
         refreshBtn.addActionListener(e -> loadProgressData());
 
-        topPanel.add(refreshBtn, BorderLayout.EAST);
+        cancelBtn = new JButton("Cancel");
+        cancelBtn.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        cancelBtn.setBackground(CARD_BG);
+        cancelBtn.setBorder(BorderFactory.createLineBorder(BORDER_COLOR));
+        cancelBtn.setFocusPainted(false);
+        cancelBtn.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        cancelBtn.setEnabled(false);
+        cancelBtn.addActionListener(e -> cancelRefresh());
+
+        refreshProgress = new JProgressBar(0, 100);
+        refreshProgress.setPreferredSize(new Dimension(160, 16));
+        refreshProgress.setVisible(false);
+
+        refreshStatusLabel = new JLabel(" ");
+        refreshStatusLabel.setFont(new Font("Segoe UI", Font.PLAIN, 12));
+        refreshStatusLabel.setForeground(new Color(107, 114, 128));
+
+        JPanel controlsPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+        controlsPanel.setBackground(CARD_BG);
+        controlsPanel.add(refreshStatusLabel);
+        controlsPanel.add(refreshProgress);
+        controlsPanel.add(refreshBtn);
+        controlsPanel.add(cancelBtn);
+
+        topPanel.add(controlsPanel, BorderLayout.EAST);
 
         panel.add(topPanel, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
@@ -224,70 +251,73 @@ public class GitHubProgressFrame extends JPanel {
         return panel;
     }
 
+    // Shows what the database already knows, then verifies against GitHub in the
+    // background and updates one repository row at a time
     private void loadProgressData() {
-        commitChecker.checkAndUpdateAllTasks(user);
-        
-        tableModel.setRowCount(0);
+        if (refreshWorker != null && !refreshWorker.isDone()) {
+            return;
+        }
+        refreshBtn.setEnabled(false);
+        cancelBtn.setEnabled(true);
+        refreshProgress.setIndeterminate(true);
+        refreshProgress.setVisible(true);
+        refreshStatusLabel.setText("Loading...");
+
+        refreshWorker = new RefreshWorker();
+        refreshWorker.execute();
+    }
 
-        List<Goal> goals = goalDAO.findByUserId(user.getId());
-        List<DailyTask> allTasks = taskDAO.findByUserId(user.getId());
-        
-        Map<String, List<DailyTask>> tasksByRepo = new HashMap<>();
-        for (DailyTask task : allTasks) {
-            tasksByRepo.computeIfAbsent(task.getRepositoryName(), k -> new ArrayList<>()).add(task);
+    private void cancelRefresh() {
+        if (refreshWorker != null) {
+            // The checker stops before the next repository; the one in flight finishes
+            refreshWorker.cancel(false);
         }
+    }
 
+    @Override
+    public void removeNotify() {
+        cancelRefresh();
+        super.removeNotify();
+    }
+
+    // Runs on the worker thread
+    private RepoRow buildRow(String repoName, Map<String, TaskAggregate> statsByRepo) {
+        TaskAggregate stats = statsByRepo.getOrDefault(repoName, TaskAggregate.empty(repoName));
+        int totalTasks = stats.getTaskCount();
+        int progress = totalTasks > 0 ? (stats.getCompletedCount() * 100 / totalTasks) : 0;
+        String status = totalTasks > 0
+            ? determineStatus(ActivityCalendarService.getInstance().getRepoCalendar(user.getId(), repoName))
+            : "No activity";
+        return new RepoRow(repoName, progress, stats.getLastCommitDate(), status, stats.getActualCommits());
+    }
+
+    // Runs on the worker thread
+    private int currentStreak() {
+        return ActivityCalendarService.getInstance().getUserCalendar(user.getId())
+            .currentStreak(ActivityCalendar.Flag.COMPLETED, LocalDate.now());
+    }
+
+    private void updateSummary(int currentStreak) {
         int totalCommits = 0;
         int activeRepos = 0;
         LocalDate latestCommit = null;
 
-        for (Goal goal : goals) {
-            String repoName = goal.getRepositoryName();
-            List<DailyTask> repoTasks = tasksByRepo.getOrDefault(repoName, new ArrayList<>());
-            
-            int totalTasks = repoTasks.size();
-            int completedTasks = 0;
-            LocalDate lastCommitDate = null;
-            
-            for (DailyTask task : repoTasks) {
-                if (task.isCompleted()) {
-                    completedTasks++;
-                }
-                if (task.getActualCommits() > 0) {
-                    totalCommits += task.getActualCommits();
-                    if (lastCommitDate == null || task.getTaskDate().isAfter(lastCommitDate)) {
-                        lastCommitDate = task.getTaskDate();
-                    }
-                }
-            }
-            
-            int progress = totalTasks > 0 ? (completedTasks * 100 / totalTasks) : 0;
-            String status = determineStatus(repoTasks);
-            
-            if (status.equals("Green")) {
+        for (RepoRow row : tableModel.rows) {
+            totalCommits += row.commits;
+            if (row.status.equals("Green")) {
                 activeRepos++;
             }
-            
-            if (lastCommitDate != null) {
-                if (latestCommit == null || lastCommitDate.isAfter(latestCommit)) {
-                    latestCommit = lastCommitDate;
+            if (row.lastCommitDate != null) {
+                if (latestCommit == null || row.lastCommitDate.isAfter(latestCommit)) {
+                    latestCommit = row.lastCommitDate;
                 }
             }
-            
-            tableModel.addRow(new Object[]{
-                repoName,
-                progress,
-                lastCommitDate != null ? formatDate(lastCommitDate) : "Never",
-                status
-            });
         }
-        
-        int currentStreak = calculateStreak(allTasks);
-        
+
         totalCommitsLabel.setText(String.valueOf(totalCommits));
         activeReposLabel.setText(String.valueOf(activeRepos));
         streakLabel.setText(currentStreak + " days");
-        
+
         if (latestCommit != null) {
             long daysAgo = java.time.temporal.ChronoUnit.DAYS.between(latestCommit, LocalDate.now());
             if (daysAgo == 0) {
@@ -301,54 +331,21 @@ public class GitHubProgressFrame extends JPanel {
             lastCommitLabel.setText("Never");
         }
     }
-    
-    private String determineStatus(List<DailyTask> tasks) {
-        if (tasks.isEmpty()) return "No activity";
-        
-        LocalDate today = LocalDate.now();
-        boolean hasRecent = false;
-        boolean hasDelayed = false;
-        
-        for (DailyTask task : tasks) {
-            if (task.isCompleted() && task.getTaskDate().equals(today)) {
-                return "Green";
-            }
-            if (task.isCompleted() && task.getTaskDate().equals(today.minusDays(1))) {
-                hasRecent = true;
-            }
-            if (task.isMissed() && task.getTaskDate().isAfter(today.minusDays(3))) {
-                hasDelayed = true;
-            }
-        }
-        
-        if (hasRecent) return "Yellow";
-        if (hasDelayed) return "Red";
-        return "No activity";
-    }
 
-    private int calculateStreak(List<DailyTask> tasks) {
-        int streak = 0;
+    private String determineStatus(ActivityCalendar calendar) {
         LocalDate today = LocalDate.now();
         
-        for (int i = 0; i < 30; i++) {
-            LocalDate checkDate = today.minusDays(i);
-            boolean committed = false;
-            
-            for (DailyTask task : tasks) {
-                if (task.isCompleted() && task.getTaskDate().equals(checkDate)) {
-                    committed = true;
-                    break;
-                }
-            }
-            
-            if (committed) {
-                streak++;
-            } else {
-                break;
-            }
+        if (calendar.has(today, ActivityCalendar.Flag.COMPLETED)) {
+            return "Green";
         }
-        
-        return streak;
+        if (calendar.has(today.minusDays(1), ActivityCalendar.Flag.COMPLETED)) {
+            return "Yellow";
+        }
+        LocalDate lastMissed = calendar.lastDay(ActivityCalendar.Flag.MISSED);
+        if (lastMissed != null && lastMissed.isAfter(today.minusDays(3))) {
+            return "Red";
+        }
+        return "No activity";
     }
 
     private String formatDate(LocalDate date) {
@@ -480,6 +477,185 @@ public class GitHubProgressFrame extends JPanel {
         }
     }
 
+    private static class RepoRow {
+        final String repoName;
+        final int progress;
+        final LocalDate lastCommitDate;
+        final String status;
+        final int commits;
+
+        RepoRow(String repoName, int progress, LocalDate lastCommitDate, String status, int commits) {
+            this.repoName = repoName;
+            this.progress = progress;
+            this.lastCommitDate = lastCommitDate;
+            this.status = status;
+            this.commits = commits;
+        }
+    }
+
+    // One published step of a refresh: either the full cached snapshot or a single re-checked repository
+    private static class ProgressUpdate {
+        final List<RepoRow> rows;
+        final boolean snapshot;
+        final int currentStreak;
+        final int checked;
+        final int repoCount;
+
+        ProgressUpdate(List<RepoRow> rows, boolean snapshot, int currentStreak, int checked, int repoCount) {
+            this.rows = rows;
+            this.snapshot = snapshot;
+            this.currentStreak = currentStreak;
+            this.checked = checked;
+            this.repoCount = repoCount;
+        }
+    }
+
+    private class RefreshWorker extends SwingWorker<Void, ProgressUpdate> {
+        private final long startedAt = System.currentTimeMillis();
+        private volatile int repoCount = -1;
+
+        @Override
+        protected Void doInBackground() {
+            // Cached state first, so the table fills before any GitHub call
+            List<RepoRow> rows = new ArrayList<>();
+            Map<String, TaskAggregate> statsByRepo = analysisService.getStatsByRepository(user.getId());
+            for (Goal goal : goalDAO.findByUserId(user.getId())) {
+                rows.add(buildRow(goal.getRepositoryName(), statsByRepo));
+            }
+            publish(new ProgressUpdate(rows, true, currentStreak(), 0, -1));
+
+            commitChecker.checkAndUpdateAllTasks(user, new GitHubCommitChecker.ProgressListener() {
+                @Override
+                public void verificationStarted(int count) {
+                    repoCount = count;
+                    publish(new ProgressUpdate(new ArrayList<>(), false, currentStreak(), 0, count));
+                }
+
+                @Override
+                public void repoChecked(String repoName, int checked, int count) {
+                    // Aggregates are cached until the next write, so this is one GROUP BY per changed repo
+                    RepoRow row = buildRow(repoName, analysisService.getStatsByRepository(user.getId()));
+                    List<RepoRow> changed = new ArrayList<>();
+                    changed.add(row);
+                    publish(new ProgressUpdate(changed, false, currentStreak(), checked, count));
+                }
+
+                @Override
+                public boolean isCancelled() {
+                    return RefreshWorker.this.isCancelled();
+                }
+            });
+            return null;
+        }
+
+        @Override
+        protected void process(List<ProgressUpdate> updates) {
+            ProgressUpdate last = null;
+            for (ProgressUpdate update : updates) {
+                if (update.snapshot) {
+                    tableModel.setRows(update.rows);
+                } else {
+                    for (RepoRow row : update.rows) {
+                        tableModel.updateRow(row);
+                    }
+                }
+                last = update;
+            }
+            updateSummary(last.currentStreak);
+
+            if (isCancelled()) return;
+            if (last.repoCount < 0) {
+                refreshStatusLabel.setText("Checking GitHub...");
+            } else if (last.repoCount == 0) {
+                refreshStatusLabel.setText("Nothing to verify");
+            } else {
+                refreshProgress.setIndeterminate(false);
+                refreshProgress.setValue(last.checked * 100 / last.repoCount);
+                refreshStatusLabel.setText("Verified " + last.checked + "/" + last.repoCount + " repositories");
+            }
+        }
+
+        @Override
+        protected void done() {
+            refreshBtn.setEnabled(true);
+            cancelBtn.setEnabled(false);
+            refreshProgress.setVisible(false);
+
+            long elapsed = System.currentTimeMillis() - startedAt;
+            try {
+                get();
+                refreshStatusLabel.setText(repoCount > 0
+                    ? "Verified " + repoCount + " repositories in " + (elapsed / 1000) + "s"
+                    : "Up to date");
+            } catch (CancellationException e) {
+                refreshStatusLabel.setText("Cancelled");
+            } catch (InterruptedException | ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                System.err.println("? Progress refresh failed: " + cause.getMessage());
+                refreshStatusLabel.setText("Refresh failed");
+            }
+        }
+    }
+
+    // Rows keyed by repository so a re-checked repository repaints only its own row
+    private class RepoProgressModel extends AbstractTableModel {
+        private final String[] columns = {"Repository", "Progress", "Last Commit", "Status"};
+        private final List<RepoRow> rows = new ArrayList<>();
+        private final Map<String, Integer> rowByRepo = new HashMap<>();
+
+        void setRows(List<RepoRow> newRows) {
+            rows.clear();
+            rowByRepo.clear();
+            for (RepoRow row : newRows) {
+                rowByRepo.put(row.repoName, rows.size());
+                rows.add(row);
+            }
+            fireTableDataChanged();
+        }
+
+        void updateRow(RepoRow row) {
+            Integer index = rowByRepo.get(row.repoName);
+            if (index == null) {
+                rowByRepo.put(row.repoName, rows.size());
+                rows.add(row);
+                fireTableRowsInserted(rows.size() - 1, rows.size() - 1);
+            } else {
+                rows.set(index, row);
+                fireTableRowsUpdated(index, index);
+            }
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return columns[column];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int column) {
+            RepoRow row = rows.get(rowIndex);
+            switch (column) {
+                case 0:
+                    return row.repoName;
+                case 1:
+                    return row.progress;
+                case 2:
+                    return row.lastCommitDate != null ? formatDate(row.lastCommitDate) : "Never";
+                default:
+                    return row.status;
+            }
+        }
+    }
+
     public JPanel getMainPanel() {
         return this;
     }
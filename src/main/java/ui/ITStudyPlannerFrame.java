@@ -8,6 +8,7 @@ import java.awt.*;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
+import java.util.TreeMap;
 
 public class ITStudyPlannerFrame extends JFrame {
     
@@ -21,6 +22,7 @@ public class ITStudyPlannerFrame extends JFrame {
     private JTextArea repoDetailsArea;
     private GitHubOAuthService gitHubService;
     private List<Map<String, String>> repositories;
+    private SwingWorker<?, ?> repoWorker;
     
     // Color scheme
     private final Color SIDEBAR_BG = new Color(26, 32, 44);
@@ -340,40 +342,81 @@ public class ITStudyPlannerFrame extends JFrame {
             return;
         }
         
-        MultiRepoSelectionDialog dialog = new MultiRepoSelectionDialog(this, user, repositories);
+        MultiRepoSelectionDialog dialog = new MultiRepoSelectionDialog(this, user, new ArrayList<>(repositories));
         dialog.setVisible(true);
     }
     
     private void loadRepositories() {
+        if (repoWorker != null) {
+            repoWorker.cancel(true);
+        }
         statusLabel.setText("Loading your repositories...");
+        statusLabel.setForeground(PRIMARY_COLOR);
         repoComboBox.removeAllItems();
+        repositories = new ArrayList<>();
         
-        SwingWorker<List<Map<String, String>>, Void> worker = new SwingWorker<>() {
+        // Pages can arrive in any order; each one is inserted after the pages before it
+        Map<Integer, Integer> pageSizes = new TreeMap<>();
+        SwingWorker<List<Map<String, String>>, RepoPage> worker = new SwingWorker<>() {
             @Override
             protected List<Map<String, String>> doInBackground() {
                 String token = user.getAccessToken();
                 if (token == null || token.isEmpty()) {
                     return new ArrayList<>();
                 }
-                return gitHubService.getRepositories(token);
+                return gitHubService.getRepositories(token,
+                    (page, lastPage, items) -> publish(new RepoPage(page, lastPage, items)));
+            }
+            
+            @Override
+            protected void process(List<RepoPage> pages) {
+                if (isCancelled()) return;
+                for (RepoPage page : pages) {
+                    int index = 0;
+                    for (Map.Entry<Integer, Integer> loaded : pageSizes.entrySet()) {
+                        if (loaded.getKey() < page.page) index += loaded.getValue();
+                    }
+                    pageSizes.put(page.page, page.items.size());
+                    
+                    for (Map<String, String> repo : page.items) {
+                        repositories.add(index, repo);
+                        repoComboBox.insertItemAt(repo.get("name"), index);
+                        index++;
+                    }
+                    if (repoComboBox.getSelectedIndex() < 0 && repoComboBox.getItemCount() > 0) {
+                        repoComboBox.setSelectedIndex(0);
+                    }
+                    statusLabel.setText("Loaded " + repositories.size() + " repositories" +
+                        (page.lastPage > 0 ? " (" + pageSizes.size() + " of " + page.lastPage + " pages)..." : "..."));
+                }
             }
             
             @Override
             protected void done() {
+                if (isCancelled()) return;
                 try {
-                    repositories = get();
-                    if (repositories == null || repositories.isEmpty()) {
+                    // Same list in page order; an empty result after streamed pages means a later page failed
+                    List<Map<String, String>> loaded = get();
+                    boolean partial = loaded.isEmpty() && !repositories.isEmpty();
+                    if (!partial && loaded.size() != repositories.size()) {
+                        repositories = new ArrayList<>(loaded);
+                        repoComboBox.removeAllItems();
+                        for (Map<String, String> repo : repositories) {
+                            repoComboBox.addItem(repo.get("name"));
+                        }
+                    }
+                    if (partial) {
+                        statusLabel.setText("Loaded " + repositories.size() + " repositories; some pages could not be read");
+                        statusLabel.setForeground(WARNING_COLOR);
+                    } else if (repositories.isEmpty()) {
                         statusLabel.setText("No repositories found. Create some on GitHub first!");
                         statusLabel.setForeground(DANGER_COLOR);
                         repoComboBox.addItem("No repositories");
                     } else {
-                        for (Map<String, String> repo : repositories) {
-                            repoComboBox.addItem(repo.get("name"));
-                        }
                         statusLabel.setText("Loaded " + repositories.size() + " repositories");
                         statusLabel.setForeground(SUCCESS_COLOR);
                         
-                        if (repositories.size() > 0) {
+                        if (repoComboBox.getSelectedIndex() < 0) {
                             repoComboBox.setSelectedIndex(0);
                         }
                     }
@@ -384,9 +427,23 @@ public class ITStudyPlannerFrame extends JFrame {
                 }
             }
         };
+        repoWorker = worker;
         worker.execute();
     }
     
+    // One page of /user/repos as published by the loader
+    private static class RepoPage {
+        final int page;
+        final int lastPage;
+        final List<Map<String, String>> items;
+        
+        RepoPage(int page, int lastPage, List<Map<String, String>> items) {
+            this.page = page;
+            this.lastPage = lastPage;
+            this.items = items;
+        }
+    }
+    
     private JPanel createStudyPlanPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(Color.WHITE);
@@ -2,6 +2,7 @@ package ui;
 
 import model.User;
 import service.StudyPlanGenerator;
+import service.PlanGenerationReport;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableModel;
@@ -300,11 +301,11 @@ public class MultiRepoSelectionDialog extends JDialog {
         statusLabel.setForeground(PRIMARY_COLOR);
         
         // Generate plan in background
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
+        SwingWorker<PlanGenerationReport, Void> worker = new SwingWorker<>() {
             @Override
-            protected Void doInBackground() {
+            protected PlanGenerationReport doInBackground() {
                 try {
-                    planGenerator.generatePlan(user, selectedRepos, priorities, features, 
+                    return planGenerator.generatePlan(user, selectedRepos, priorities, features, 
                                              durationMonths, dailyHours, experienceLevels);
                 } catch (Exception e) {
                     e.printStackTrace();
@@ -318,6 +319,21 @@ public class MultiRepoSelectionDialog extends JDialog {
             
             @Override
             protected void done() {
+                PlanGenerationReport report;
+                try {
+                    report = get();
+                } catch (Exception e) {
+                    report = null;
+                }
+                if (report == null) {
+                    return;
+                }
+                if (!report.isSaved()) {
+                    statusLabel.setText("Could not save the study plan. Please try again.");
+                    statusLabel.setForeground(DANGER_COLOR);
+                    return;
+                }
+                
                 statusLabel.setText("Study plan generated successfully!");
                 statusLabel.setForeground(SUCCESS_COLOR);
                 planGenerated = true;
@@ -335,6 +351,14 @@ public class MultiRepoSelectionDialog extends JDialog {
                            .append(features.get(i)).append("\n");
                 }
                 
+                List<PlanGenerationReport.RepoResult> failures = report.getFailures();
+                if (!failures.isEmpty()) {
+                    summary.append("\nSkipped (could not be planned):\n");
+                    for (PlanGenerationReport.RepoResult failure : failures) {
+                        summary.append("? ").append(failure.getRepositoryName()).append("\n");
+                    }
+                }
+                
                 JOptionPane.showMessageDialog(MultiRepoSelectionDialog.this,
                     summary.toString(),
                     "Plan Generated",
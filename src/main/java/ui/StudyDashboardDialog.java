@@ -4,16 +4,15 @@ import model.User;
 import model.DailyTask;
 import model.Goal;
 import dao.StudyTaskDAO;
+import dao.TaskQuery;
 import dao.GoalDAO;
 import db.DBConnection;
 import service.GitHubCommitChecker;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 public class StudyDashboardDialog extends JDialog {
@@ -22,7 +21,7 @@ public class StudyDashboardDialog extends JDialog {
     private StudyTaskDAO taskDAO;
     private GoalDAO goalDAO;
     private JTable taskTable;
-    private DefaultTableModel tableModel;
+    private TaskTableModel tableModel;
     private JLabel todayTaskLabel;
     private JLabel progressLabel;
     
@@ -94,12 +93,7 @@ public class StudyDashboardDialog extends JDialog {
         panel.setBorder(BorderFactory.createTitledBorder("Your Study Schedule"));
         
         String[] columns = {"Date", "Repository", "Status", "Planned Hours", "Actual Hours", "Commits"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new TaskTableModel(columns, "");
         
         taskTable = new JTable(tableModel);
         taskTable.setFont(new Font("Segoe UI", Font.PLAIN, 13));
@@ -218,29 +212,19 @@ public class StudyDashboardDialog extends JDialog {
     private void loadTasks() {
         checkGitHubCommits();
         
-        List<DailyTask> tasks = taskDAO.findByUserId(user.getId());
-        tableModel.setRowCount(0);
+        List<DailyTask> tasks = taskDAO.find(TaskQuery.forUser(user.getId())
+            .columns("repository_name", "status", "planned_hours", "actual_hours", "planned_commits", "actual_commits")
+            .descending());
+        tableModel.setTasks(tasks);
         
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
         LocalDate today = LocalDate.now();
         int completed = 0;
         int total = tasks.size();
         
-        tasks.sort((t1, t2) -> t2.getTaskDate().compareTo(t1.getTaskDate()));
-        
         StringBuilder todayTasks = new StringBuilder("Today: ");
         boolean hasTodayTask = false;
         
         for (DailyTask task : tasks) {
-            tableModel.addRow(new Object[]{
-                task.getTaskDate().format(formatter),
-                task.getRepositoryName(),
-                task.getStatus(),
-                task.getPlannedHours(),
-                task.getActualHours(),
-                task.getActualCommits() + "/" + task.getPlannedCommits()
-            });
-            
             if (task.isCompleted()) completed++;
             
             if (task.getTaskDate().equals(today)) {
@@ -279,25 +263,15 @@ public class StudyDashboardDialog extends JDialog {
     }
     
     private void refreshDisplay() {
-        List<DailyTask> tasks = taskDAO.findByUserId(user.getId());
-        tableModel.setRowCount(0);
+        List<DailyTask> tasks = taskDAO.find(TaskQuery.forUser(user.getId())
+            .columns("repository_name", "status", "planned_hours", "actual_hours", "planned_commits", "actual_commits")
+            .descending());
+        tableModel.setTasks(tasks);
         
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
         int completed = 0;
         int total = tasks.size();
         
-        tasks.sort((t1, t2) -> t2.getTaskDate().compareTo(t1.getTaskDate()));
-        
         for (DailyTask task : tasks) {
-            tableModel.addRow(new Object[]{
-                task.getTaskDate().format(formatter),
-                task.getRepositoryName(),
-                task.getStatus(),
-                task.getPlannedHours(),
-                task.getActualHours(),
-                task.getActualCommits() + "/" + task.getPlannedCommits()
-            });
-            
             if (task.isCompleted()) completed++;
         }
         
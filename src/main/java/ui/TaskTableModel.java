@@ -0,0 +1,189 @@
+package ui;
+
+import model.DailyTask;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Read-only table model over a list of DailyTask. Cells are formatted when the table
+ * asks for them (only visible rows are rendered), so loading a long history costs one
+ * list copy instead of six strings per row. Sorting and filtering only reorder an int
+ * permutation of the task list.
+ *
+ * Columns: Date, Repository, Status, Planned, Actual, Commits.
+ * The Status column returns the raw status string for the status badge renderers.
+ */
+public class TaskTableModel extends AbstractTableModel {
+
+    public static final int COL_DATE = 0;
+    public static final int COL_REPOSITORY = 1;
+    public static final int COL_STATUS = 2;
+    public static final int COL_PLANNED = 3;
+    public static final int COL_ACTUAL = 4;
+    public static final int COL_COMMITS = 5;
+
+    private final String[] columnNames;
+    private final String hoursSuffix;
+
+    private final List<DailyTask> tasks = new ArrayList<>();
+    private int[] view = new int[0]; // view row -> index in tasks
+    private int viewSize;
+
+    private Comparator<DailyTask> comparator;
+    private Predicate<DailyTask> filter;
+
+    public TaskTableModel(String[] columnNames, String hoursSuffix) {
+        if (columnNames.length != 6) {
+            throw new IllegalArgumentException("Expected 6 column names, got " + columnNames.length);
+        }
+        this.columnNames = columnNames.clone();
+        this.hoursSuffix = hoursSuffix == null ? "" : hoursSuffix;
+    }
+
+    @Override
+    public int getRowCount() {
+        return viewSize;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return String.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        DailyTask task = getTaskAt(row);
+        switch (column) {
+            case COL_DATE:
+                // ISO-8601 is the yyyy-MM-dd the tables always showed
+                return task.getTaskDate() != null ? task.getTaskDate().toString() : "";
+            case COL_REPOSITORY:
+                return task.getRepositoryName();
+            case COL_STATUS:
+                return task.getStatus() != null ? task.getStatus() : "";
+            case COL_PLANNED:
+                return task.getPlannedHours() + hoursSuffix;
+            case COL_ACTUAL:
+                return task.getActualHours() + hoursSuffix;
+            case COL_COMMITS:
+                return task.getActualCommits() + "/" + task.getPlannedCommits();
+            default:
+                return null;
+        }
+    }
+
+    public DailyTask getTaskAt(int row) {
+        return tasks.get(view[row]);
+    }
+
+    // Total tasks held, including rows hidden by the filter
+    public int getTaskCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Replaces the rows. When only the tail changed length the table gets one update
+     * event for the shared rows plus one insert or delete range, so selection and
+     * scroll position survive a refresh.
+     */
+    public void setTasks(Collection<DailyTask> newTasks) {
+        tasks.clear();
+        for (DailyTask task : newTasks) {
+            tasks.add(task); // addAll would copy the source into a temporary array first
+        }
+
+        int oldSize = viewSize;
+        rebuildView();
+        fireResized(oldSize, viewSize);
+    }
+
+    // null restores load order
+    public void setComparator(Comparator<DailyTask> comparator) {
+        this.comparator = comparator;
+        int oldSize = viewSize;
+        rebuildView();
+        fireResized(oldSize, viewSize);
+    }
+
+    // null shows every task
+    public void setFilter(Predicate<DailyTask> filter) {
+        this.filter = filter;
+        int oldSize = viewSize;
+        rebuildView();
+        fireResized(oldSize, viewSize);
+    }
+
+    private void rebuildView() {
+        ensureViewCapacity(tasks.size());
+        int size = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (filter == null || filter.test(tasks.get(i))) {
+                view[size++] = i;
+            }
+        }
+        viewSize = size;
+        if (comparator != null && size > 1) {
+            sortView();
+        }
+    }
+
+    // Stable merge sort of the permutation; avoids boxing every row index
+    private void sortView() {
+        int[] buffer = new int[viewSize];
+        for (int width = 1; width < viewSize; width *= 2) {
+            for (int lo = 0; lo < viewSize - width; lo += 2 * width) {
+                int mid = lo + width;
+                int hi = Math.min(lo + 2 * width, viewSize);
+                if (comparator.compare(tasks.get(view[mid - 1]), tasks.get(view[mid])) <= 0) {
+                    continue; // already in order
+                }
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) {
+                    buffer[k++] = comparator.compare(tasks.get(view[j]), tasks.get(view[i])) < 0 ? view[j++] : view[i++];
+                }
+                while (i < mid) buffer[k++] = view[i++];
+                while (j < hi) buffer[k++] = view[j++];
+                System.arraycopy(buffer, lo, view, lo, hi - lo);
+            }
+        }
+    }
+
+    private void ensureViewCapacity(int capacity) {
+        if (view.length < capacity) {
+            view = Arrays.copyOf(view, Math.max(capacity, view.length * 2));
+        }
+    }
+
+    private void fireResized(int oldSize, int newSize) {
+        int shared = Math.min(oldSize, newSize);
+        if (shared > 0) {
+            fireTableRowsUpdated(0, shared - 1);
+        }
+        if (newSize > oldSize) {
+            fireTableRowsInserted(oldSize, newSize - 1);
+        } else if (newSize < oldSize) {
+            fireTableRowsDeleted(newSize, oldSize - 1);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package util;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+
+/**
+ * Day-by-day activity flags stored as bitsets indexed by epoch day (relative to the
+ * earliest day seen). Streak, active-day and gap queries walk 64 days per word
+ * instead of comparing LocalDate objects. Safe to read while another thread updates it.
+ */
+public class ActivityCalendar {
+
+    public enum Flag {
+        COMPLETED, MISSED, COMMIT
+    }
+
+    private final BitSet[] bits = new BitSet[Flag.values().length];
+    private long origin; // epoch day of bit 0
+    private boolean empty = true;
+
+    public ActivityCalendar() {
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = new BitSet();
+        }
+    }
+
+    public static ActivityCalendar ofDays(Collection<LocalDate> days, Flag flag) {
+        ActivityCalendar calendar = new ActivityCalendar();
+        for (LocalDate day : days) {
+            calendar.mark(day, flag);
+        }
+        return calendar;
+    }
+
+    public void mark(LocalDate day, Flag flag) {
+        mark(day.toEpochDay(), flag);
+    }
+
+    // Same as mark(LocalDate.ofEpochDay(epochDay), flag), for callers holding primitive days
+    public synchronized void mark(long epochDay, Flag flag) {
+        // indexFor may replace the bitsets, so resolve it before picking one
+        int index = indexFor(epochDay);
+        bits[flag.ordinal()].set(index);
+    }
+
+    public synchronized void clear(LocalDate day, Flag flag) {
+        if (empty) return;
+        long index = day.toEpochDay() - origin;
+        if (index >= 0 && index <= Integer.MAX_VALUE) {
+            bits[flag.ordinal()].clear((int) index);
+        }
+    }
+
+    public synchronized boolean has(LocalDate day, Flag flag) {
+        int index = indexOf(day);
+        return index >= 0 && bits[flag.ordinal()].get(index);
+    }
+
+    // Consecutive flagged days ending on asOf (0 if asOf itself is not flagged)
+    public synchronized int currentStreak(Flag flag, LocalDate asOf) {
+        int index = indexOf(asOf);
+        BitSet set = bits[flag.ordinal()];
+        if (index < 0 || !set.get(index)) return 0;
+        return index - set.previousClearBit(index);
+    }
+
+    public synchronized int longestStreak(Flag flag) {
+        BitSet set = bits[flag.ordinal()];
+        int longest = 0;
+        for (int start = set.nextSetBit(0); start >= 0; ) {
+            int end = set.nextClearBit(start);
+            longest = Math.max(longest, end - start);
+            start = set.nextSetBit(end);
+        }
+        return longest;
+    }
+
+    public synchronized int activeDays(Flag flag) {
+        return bits[flag.ordinal()].cardinality();
+    }
+
+    // Flagged days in [from, to]
+    public synchronized int activeDays(Flag flag, LocalDate from, LocalDate to) {
+        if (empty || to.isBefore(from)) return 0;
+        long start = Math.max(0, from.toEpochDay() - origin);
+        long end = to.toEpochDay() - origin + 1;
+        if (end <= start) return 0;
+        return bits[flag.ordinal()].get((int) start, (int) Math.min(end, Integer.MAX_VALUE)).cardinality();
+    }
+
+    // Number of breaks of at least minEmptyDays unflagged days between two flagged days
+    public synchronized int countGaps(Flag flag, int minEmptyDays) {
+        BitSet set = bits[flag.ordinal()];
+        int gaps = 0;
+        int start = set.nextSetBit(0);
+        while (start >= 0) {
+            int end = set.nextClearBit(start);
+            int next = set.nextSetBit(end);
+            if (next >= 0 && next - end >= minEmptyDays) {
+                gaps++;
+            }
+            start = next;
+        }
+        return gaps;
+    }
+
+    // Latest flagged day, or null
+    public synchronized LocalDate lastDay(Flag flag) {
+        int last = bits[flag.ordinal()].length() - 1;
+        return last >= 0 ? LocalDate.ofEpochDay(origin + last) : null;
+    }
+
+    private int indexOf(LocalDate day) {
+        if (empty) return -1;
+        long index = day.toEpochDay() - origin;
+        return index >= 0 && index <= Integer.MAX_VALUE ? (int) index : -1;
+    }
+
+    private int indexFor(long epochDay) {
+        if (empty) {
+            origin = epochDay;
+            empty = false;
+        } else if (epochDay < origin) {
+            shift((int) (origin - epochDay));
+            origin = epochDay;
+        }
+        return (int) (epochDay - origin);
+    }
+
+    // Moves every bit up so an earlier day fits at index 0
+    private void shift(int days) {
+        for (int f = 0; f < bits.length; f++) {
+            BitSet shifted = new BitSet(bits[f].length() + days);
+            for (int i = bits[f].nextSetBit(0); i >= 0; i = bits[f].nextSetBit(i + 1)) {
+                shifted.set(i + days);
+            }
+            bits[f] = shifted;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package util;
+
+import config.AppConfig;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Process-wide HTTP client. Every outbound call shares one java.net.http.HttpClient,
+ * so TCP/TLS connections are reused (and multiplexed over HTTP/2 where the server
+ * supports it). Responses are requested gzip-compressed, read as bytes and decoded
+ * here. Concurrent requests per host are capped, and latency and transfer sizes are
+ * tracked per endpoint.
+ */
+public class ApiHttpClient {
+
+    private static final ApiHttpClient INSTANCE = new ApiHttpClient();
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final int maxConcurrentPerHost;
+    private final Map<String, Semaphore> hostLimits = new ConcurrentHashMap<>();
+    private final Map<String, EndpointStats> endpointStats = new ConcurrentHashMap<>();
+
+    private ApiHttpClient() {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(AppConfig.HTTP_CONNECT_TIMEOUT_MS))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.requestTimeout = Duration.ofMillis(AppConfig.HTTP_REQUEST_TIMEOUT_MS);
+        this.maxConcurrentPerHost = AppConfig.HTTP_MAX_CONCURRENT_PER_HOST;
+    }
+
+    public static ApiHttpClient getInstance() {
+        return INSTANCE;
+    }
+
+    public ApiResponse get(String url, Map<String, String> headers) throws IOException {
+        HttpRequest.Builder builder = newRequest(url, headers).GET();
+        return send(builder.build());
+    }
+
+    public ApiResponse post(String url, Map<String, String> headers, String body) throws IOException {
+        HttpRequest.Builder builder = newRequest(url, headers)
+                .POST(body != null
+                        ? HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8)
+                        : HttpRequest.BodyPublishers.noBody());
+        return send(builder.build());
+    }
+
+    private HttpRequest.Builder newRequest(String url, Map<String, String> headers) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("Accept-Encoding", "gzip");
+        if (headers != null) {
+            for (Map.Entry<String, String> header : headers.entrySet()) {
+                builder.setHeader(header.getKey(), header.getValue());
+            }
+        }
+        return builder;
+    }
+
+    public ApiResponse send(HttpRequest request) throws IOException {
+        URI uri = request.uri();
+        Semaphore limit = hostLimits.computeIfAbsent(uri.getHost(), h -> new Semaphore(maxConcurrentPerHost, true));
+        EndpointStats stats = endpointStats.computeIfAbsent(endpointKey(request.method(), uri), k -> new EndpointStats());
+
+        long start = System.nanoTime();
+        try {
+            limit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a connection slot to " + uri.getHost(), e);
+        }
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            byte[] raw = response.body() != null ? response.body() : new byte[0];
+            byte[] body = decode(raw, response.headers().firstValue("Content-Encoding").orElse(null));
+            stats.record(System.nanoTime() - start, raw.length, body.length, response.statusCode() >= 400);
+            return new ApiResponse(response.statusCode(), response.headers().map(), body, raw.length);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.record(System.nanoTime() - start, 0, 0, true);
+            throw new IOException("Request interrupted: " + uri, e);
+        } catch (IOException e) {
+            stats.record(System.nanoTime() - start, 0, 0, true);
+            throw e;
+        } finally {
+            limit.release();
+        }
+    }
+
+    private static byte[] decode(byte[] raw, String contentEncoding) throws IOException {
+        if (contentEncoding != null && contentEncoding.equalsIgnoreCase("gzip") && raw.length > 0) {
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(raw))) {
+                return in.readAllBytes();
+            }
+        }
+        return raw;
+    }
+
+    // Groups URLs by route so /repos/a/b/commits and /repos/c/d/commits share one entry
+    static String endpointKey(String method, URI uri) {
+        String path = uri.getPath() == null ? "" : uri.getPath();
+        String[] segments = path.split("/");
+        if (segments.length > 3 && segments[1].equals("repos")) {
+            path = "/repos/{owner}/{repo}" + (segments.length > 4 ? "/" + segments[4] : "");
+        }
+        return method + " " + uri.getHost() + path;
+    }
+
+    public Map<String, EndpointStats> getEndpointStats() {
+        return new TreeMap<>(endpointStats);
+    }
+
+    public void logStats() {
+        for (Map.Entry<String, EndpointStats> entry : getEndpointStats().entrySet()) {
+            System.out.println("?? " + entry.getKey() + " -> " + entry.getValue());
+        }
+    }
+
+    public static class EndpointStats {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final AtomicLong wireBytes = new AtomicLong();
+        private final AtomicLong decodedBytes = new AtomicLong();
+
+        void record(long nanos, long wire, long decoded, boolean error) {
+            requests.incrementAndGet();
+            if (error) errors.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+            wireBytes.addAndGet(wire);
+            decodedBytes.addAndGet(decoded);
+        }
+
+        public long getRequests() { return requests.get(); }
+        public long getErrors() { return errors.get(); }
+        public long getWireBytes() { return wireBytes.get(); }
+        public long getDecodedBytes() { return decodedBytes.get(); }
+
+        public double getAvgMillis() {
+            long n = requests.get();
+            return n > 0 ? totalNanos.get() / n / 1_000_000.0 : 0;
+        }
+
+        public double getMaxMillis() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("requests=%d, errors=%d, avg=%.1fms, max=%.1fms, wire=%dB, decoded=%dB",
+                    getRequests(), getErrors(), getAvgMillis(), getMaxMillis(), getWireBytes(), getDecodedBytes());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+public class ApiResponse {
+    private final int statusCode;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+    private final long wireBytes;
+
+    public ApiResponse(int statusCode, Map<String, List<String>> headers, byte[] body, long wireBytes) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+        this.wireBytes = wireBytes;
+    }
+
+    public int getStatusCode() { return statusCode; }
+    public Map<String, List<String>> getHeaders() { return headers; }
+    public byte[] getBody() { return body; }
+
+    // Bytes as received, before gzip decoding
+    public long getWireBytes() { return wireBytes; }
+
+    public boolean isSuccess() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+
+    public String bodyAsString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    // Header lookup is case-insensitive; returns the first value or null
+    public String header(String name) {
+        for (Map.Entry<String, List<String>> entry : headers.entrySet()) {
+            if (entry.getKey() != null && entry.getKey().equalsIgnoreCase(name) && !entry.getValue().isEmpty()) {
+                return entry.getValue().get(0);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,266 @@
+package util;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pull parser for GitHub listing pages. Reads the response bytes once with Gson's
+ * JsonReader and keeps only the fields the app uses; everything else is skipped
+ * without building a tree. Commit dates end up in a long[] of epoch seconds, so
+ * callers derive epoch days with plain arithmetic instead of LocalDate.parse.
+ *
+ * A JSON object where a listing was expected is GitHub's error shape and is turned
+ * into an IOException carrying its "message".
+ */
+public final class GitHubListingParser {
+
+    private static final String[] NO_SHAS = new String[0];
+
+    private GitHubListingParser() {
+    }
+
+    /**
+     * /repos/{o}/{r}/commits page -> sha (optional) and commit.committer.date of each commit,
+     * in listing order (newest first).
+     */
+    public static Commits parseCommits(byte[] body, boolean keepShas) throws IOException {
+        Commits commits = new Commits(keepShas);
+        try (JsonReader reader = open(body)) {
+            expectArray(reader);
+            reader.beginArray();
+            while (reader.hasNext()) {
+                String sha = null;
+                long committedAt = Long.MIN_VALUE;
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (keepShas && name.equals("sha")) {
+                        sha = reader.nextString();
+                    } else if (name.equals("commit") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                        committedAt = readCommitterDate(reader);
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                if (committedAt == Long.MIN_VALUE) {
+                    throw new IOException("Commit " + (sha != null ? sha + " " : "") + "has no commit.committer.date");
+                }
+                commits.add(sha, committedAt);
+            }
+            reader.endArray();
+        }
+        return commits;
+    }
+
+    /**
+     * /user/repos page -> one map per repository with name (full_name), private,
+     * updated_at, html_url and description, as the repository pickers expect.
+     */
+    public static List<Map<String, String>> parseRepositories(byte[] body) throws IOException {
+        List<Map<String, String>> repos = new ArrayList<>();
+        try (JsonReader reader = open(body)) {
+            expectArray(reader);
+            reader.beginArray();
+            while (reader.hasNext()) {
+                Map<String, String> repo = new HashMap<>();
+                repo.put("description", "No description");
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    String name = reader.nextName();
+                    if (reader.peek() == JsonToken.NULL) {
+                        reader.nextNull();
+                        continue;
+                    }
+                    switch (name) {
+                        case "full_name":
+                            repo.put("name", reader.nextString());
+                            break;
+                        case "private":
+                            repo.put("private", String.valueOf(reader.nextBoolean()));
+                            break;
+                        case "updated_at":
+                        case "html_url":
+                        case "description":
+                            repo.put(name, reader.nextString());
+                            break;
+                        default:
+                            reader.skipValue();
+                    }
+                }
+                reader.endObject();
+                if (!repo.containsKey("name")) {
+                    throw new IOException("Repository entry without full_name");
+                }
+                repos.add(repo);
+            }
+            reader.endArray();
+        }
+        return repos;
+    }
+
+    // "message" of a GitHub error body, or null if the body is not an error object
+    public static String errorMessage(byte[] body) {
+        if (body == null || body.length == 0) return null;
+        try (JsonReader reader = open(body)) {
+            if (reader.peek() != JsonToken.BEGIN_OBJECT) return null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("message") && reader.peek() == JsonToken.STRING) {
+                    return reader.nextString();
+                }
+                reader.skipValue();
+            }
+        } catch (IOException | RuntimeException e) {
+            // Not JSON (e.g. an HTML error page)
+        }
+        return null;
+    }
+
+    // commit: { committer: { date: "..." }, ... } -> epoch seconds, or Long.MIN_VALUE if absent
+    private static long readCommitterDate(JsonReader reader) throws IOException {
+        long committedAt = Long.MIN_VALUE;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("committer") && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                reader.beginObject();
+                while (reader.hasNext()) {
+                    if (reader.nextName().equals("date") && reader.peek() == JsonToken.STRING) {
+                        committedAt = parseEpochSecond(reader.nextString());
+                    } else {
+                        reader.skipValue();
+                    }
+                }
+                reader.endObject();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return committedAt;
+    }
+
+    /**
+     * GitHub timestamps are "yyyy-MM-ddTHH:mm:ssZ"; that shape is decoded by hand,
+     * anything else (offsets, fractions) goes through OffsetDateTime.
+     */
+    static long parseEpochSecond(String value) {
+        if (value.length() == 20 && value.charAt(4) == '-' && value.charAt(7) == '-' && value.charAt(10) == 'T'
+                && value.charAt(13) == ':' && value.charAt(16) == ':' && value.charAt(19) == 'Z') {
+            int year = digits(value, 0, 4);
+            int month = digits(value, 5, 2);
+            int day = digits(value, 8, 2);
+            int hour = digits(value, 11, 2);
+            int minute = digits(value, 14, 2);
+            int second = digits(value, 17, 2);
+            if (year >= 0 && month >= 1 && month <= 12 && day >= 1 && day <= 31
+                    && hour >= 0 && hour < 24 && minute >= 0 && minute < 60 && second >= 0 && second < 60) {
+                return epochDay(year, month, day) * 86_400L + hour * 3_600L + minute * 60L + second;
+            }
+        }
+        return OffsetDateTime.parse(value).toEpochSecond();
+    }
+
+    // -1 if any character is not a digit
+    private static int digits(String value, int from, int count) {
+        int result = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) return -1;
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    // Days since 1970-01-01 for a proleptic Gregorian date (same as LocalDate.toEpochDay)
+    private static long epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097L + dayOfEra - 719_468L;
+    }
+
+    private static JsonReader open(byte[] body) {
+        return new JsonReader(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+    }
+
+    private static void expectArray(JsonReader reader) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BEGIN_ARRAY) return;
+        if (token == JsonToken.BEGIN_OBJECT) {
+            String message = "Unknown error";
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals("message") && reader.peek() == JsonToken.STRING) {
+                    message = reader.nextString();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            throw new IOException("GitHub API returned an error: " + message);
+        }
+        throw new IOException("Expected a JSON array but found " + token);
+    }
+
+    /**
+     * Commits of one listing as parallel arrays. Shas are only kept when asked for.
+     */
+    public static final class Commits {
+        private String[] shas;
+        private long[] epochSeconds = new long[100]; // GitHub's largest page
+        private int size;
+
+        Commits(boolean keepShas) {
+            this.shas = keepShas ? new String[epochSeconds.length] : NO_SHAS;
+        }
+
+        void add(String sha, long epochSecond) {
+            if (size == epochSeconds.length) {
+                epochSeconds = Arrays.copyOf(epochSeconds, size * 2);
+                if (shas != NO_SHAS) {
+                    shas = Arrays.copyOf(shas, size * 2);
+                }
+            }
+            if (shas != NO_SHAS) {
+                shas[size] = sha;
+            }
+            epochSeconds[size++] = epochSecond;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        // null unless parsed with keepShas
+        public String sha(int index) {
+            return shas != NO_SHAS ? shas[index] : null;
+        }
+
+        public long epochSecond(int index) {
+            return epochSeconds[index];
+        }
+
+        // UTC day of the commit, as in LocalDate.toEpochDay
+        public long epochDay(int index) {
+            return Math.floorDiv(epochSeconds[index], 86_400L);
+        }
+
+        public Instant instant(int index) {
+            return Instant.ofEpochSecond(epochSeconds[index]);
+        }
+    }
+}